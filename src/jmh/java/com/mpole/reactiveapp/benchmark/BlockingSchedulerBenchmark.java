@@ -0,0 +1,75 @@
+package com.mpole.reactiveapp.benchmark;
+
+import com.mpole.reactiveapp.config.BlockingProperties;
+import com.mpole.reactiveapp.config.BlockingSchedulerConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+블로킹 호출 오프로드 스케줄러 비교 (app.blocking.mode)
+동시에 concurrency개의 블로킹 호출(blockMicros 동안 대기, Kafka 메타데이터 대기나 JDBC 쿼리를 흉내)을
+boundedElastic과 가상 스레드 스케줄러로 실행하여 한 묶음이 끝나는 시간을 비교합니다.
+boundedElastic은 스레드 수(코어 × 10)를 넘는 호출이 대기열에서 기다리고, 가상 스레드는 호출 수만큼 동시에 대기합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlockingSchedulerBenchmark {
+
+    @Param({"BOUNDED_ELASTIC", "VIRTUAL_THREADS"})
+    public BlockingProperties.Mode mode;
+
+    /** 동시에 실행하는 블로킹 호출 수 */
+    @Param({"16", "256", "2048"})
+    public int concurrency;
+
+    /** 호출 하나가 블로킹하는 시간(마이크로초) */
+    @Param({"1000"})
+    public long blockMicros;
+
+    private Scheduler scheduler;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        scheduler = BlockingSchedulerConfig.create(mode);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        scheduler.dispose();
+    }
+
+    @Benchmark
+    public Long offloadBlockingCalls() {
+        return Flux.range(0, concurrency)
+                .flatMap(i -> Mono.fromCallable(this::blockingCall).subscribeOn(scheduler), concurrency)
+                .count()
+                .block();
+    }
+
+    private long blockingCall() {
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(blockMicros));
+        return blockMicros;
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.mpole.reactiveapp.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+"user:{id}" 캐시 키 생성 방식 비교
+서비스/컨슈머/일괄 등록에서 사용하는 문자열 연결("user:" + id)을 기준으로 StringBuilder, String.format과 비교합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheKeyBenchmark {
+
+    /** 자릿수에 따른 차이를 보기 위한 사용자 ID */
+    @Param({"42", "1234567890"})
+    public long id;
+
+    // 박싱된 ID로 호출되는 실제 코드 경로와 맞추기 위한 값
+    private Long boxedId;
+
+    @Setup
+    public void setUp() {
+        boxedId = id;
+    }
+
+    @Benchmark
+    public String concat() {
+        return "user:" + boxedId;
+    }
+
+    @Benchmark
+    public String stringBuilder() {
+        return new StringBuilder(24).append("user:").append(boxedId.longValue()).toString();
+    }
+
+    @Benchmark
+    public String format() {
+        return String.format("user:%d", boxedId);
+    }
+
+}
@@ -0,0 +1,205 @@
+package com.mpole.reactiveapp.benchmark;
+
+import com.mpole.reactiveapp.model.User;
+import com.mpole.reactiveapp.model.UserOutboxEvent;
+import com.mpole.reactiveapp.repository.UserOutboxRepository;
+import com.mpole.reactiveapp.repository.UserRepository;
+import io.r2dbc.spi.ConnectionFactory;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.mock.MockProducerFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionCallback;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+/*
+벤치마크용 인메모리 대역(stand-in)입니다. 네트워크/디스크 없이 서비스의 리액티브 파이프라인 비용만 측정합니다.
+- UserRepository / UserOutboxRepository : Map 기반 동적 프록시 (파이프라인이 사용하는 메서드만 지원)
+- Redis                                 : opsForValue()가 Map 기반 ReactiveValueOperations를 반환하는 템플릿
+                                          ("user:{id}" 값과 "email:{email}" 매핑, TTL은 무시), pub/sub 발행은 즉시 성공
+- Kafka                                 : MockProducer(autoComplete) 위의 KafkaTemplate
+- 트랜잭션                               : 콜백을 그대로 실행하는 TransactionalOperator
+ */
+final class InMemoryStandIns {
+
+    private InMemoryStandIns() {
+    }
+
+    static UserRepository userRepository(Map<Long, User> table, AtomicLong sequence) {
+        return proxy(UserRepository.class, (method, args) -> switch (method.getName()) {
+            case "save" -> {
+                User user = (User) args[0];
+                if (user.getId() == null) {
+                    user.setId(sequence.incrementAndGet());
+                }
+                user.setVersion(user.getVersion() == null ? 0L : user.getVersion() + 1); // @Version 증가
+                table.put(user.getId(), user);
+                yield Mono.just(user);
+            }
+            case "findById" -> Mono.justOrEmpty(table.get((Long) args[0]));
+            case "findByIdIn" -> Flux.fromIterable((Collection<?>) args[0]).mapNotNull(table::get);
+            case "deleteById" -> Mono.fromRunnable(() -> table.remove((Long) args[0]));
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    static UserOutboxRepository outboxRepository(AtomicLong sequence) {
+        return proxy(UserOutboxRepository.class, (method, args) -> {
+            if (!"save".equals(method.getName())) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            UserOutboxEvent event = (UserOutboxEvent) args[0];
+            event.setId(sequence.incrementAndGet());
+            return Mono.just(event);
+        });
+    }
+
+    static ReactiveRedisTemplate<String, User> userRedisTemplate(Map<String, User> store) {
+        ReactiveValueOperations<String, User> operations = valueOperations(store);
+        return new ReactiveRedisTemplate<>(unusedConnectionFactory(),
+                RedisSerializationContext.<String, User>newSerializationContext(new StringRedisSerializer()).build()) {
+            @Override
+            public ReactiveValueOperations<String, User> opsForValue() {
+                return operations;
+            }
+
+            // 대역은 만료를 관리하지 않으므로 항상 TTL이 넉넉히 남은 것으로 응답 (조기 갱신은 발생하지 않음)
+            @Override
+            public Mono<Duration> getExpire(String key) {
+                return store.containsKey(key) ? Mono.just(Duration.ofHours(1)) : Mono.empty();
+            }
+        };
+    }
+
+    /**
+     * L1 캐시 무효화 발행(convertAndSend)만 즉시 성공시키는 템플릿입니다. 그 밖의 명령을 보내면 예외가 발생합니다.
+     */
+    static ReactiveStringRedisTemplate pubSubStringRedisTemplate() {
+        return new ReactiveStringRedisTemplate(unusedConnectionFactory()) {
+            @Override
+            public Mono<Long> convertAndSend(String destination, String message) {
+                return Mono.just(0L);
+            }
+        };
+    }
+
+    /**
+     * opsForValue()가 Map 기반으로 동작하는 문자열 템플릿입니다. (이메일 → ID 매핑용) 그 밖의 명령을 보내면 예외가 발생합니다.
+     */
+    static ReactiveStringRedisTemplate stringRedisTemplate(Map<String, String> store) {
+        ReactiveValueOperations<String, String> operations = valueOperations(store);
+        return new ReactiveStringRedisTemplate(unusedConnectionFactory()) {
+            @Override
+            public ReactiveValueOperations<String, String> opsForValue() {
+                return operations;
+            }
+        };
+    }
+
+    static TransactionalOperator transactionalOperator() {
+        return new TransactionalOperator() {
+            @Override
+            public <T> Mono<T> transactional(Mono<T> mono) {
+                return mono;
+            }
+
+            @Override
+            public <T> Flux<T> execute(TransactionCallback<T> action) {
+                return Flux.from(action.doInTransaction(null));
+            }
+        };
+    }
+
+    static KafkaTemplate<String, String> kafkaTemplate(MockProducer<String, String> producer) {
+        return new KafkaTemplate<>(new MockProducerFactory<>(() -> producer));
+    }
+
+    /**
+     * 전송 즉시 성공으로 완료되는 MockProducer를 생성합니다.
+     * KafkaTemplate은 전송마다 close()를 호출하므로 같은 인스턴스를 재사용할 수 있도록 close는 무시합니다.
+     * 전송 기록(history)이 계속 쌓이므로 호출하는 쪽에서 주기적으로 clear()해야 합니다.
+     */
+    static MockProducer<String, String> mockProducer() {
+        return new MockProducer<>(true, new StringSerializer(), new StringSerializer()) {
+            @Override
+            public void close() {
+            }
+
+            @Override
+            public void close(Duration timeout) {
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> ReactiveValueOperations<String, V> valueOperations(Map<String, V> store) {
+        return proxy(ReactiveValueOperations.class, (method, args) -> switch (method.getName()) {
+            case "get" -> Mono.justOrEmpty(store.get(args[0]));
+            case "set" -> { // TTL 인자는 무시
+                store.put((String) args[0], (V) args[1]);
+                yield Mono.just(true);
+            }
+            case "setIfAbsent" -> Mono.just(store.putIfAbsent((String) args[0], (V) args[1]) == null);
+            case "delete" -> Mono.just(store.remove(args[0]) != null);
+            case "multiGet" -> {
+                List<V> values = new ArrayList<>();
+                ((Collection<?>) args[0]).forEach(key -> values.add(store.get(key)));
+                yield Mono.just(values);
+            }
+            case "multiSet" -> {
+                store.putAll((Map<String, V>) args[0]);
+                yield Mono.just(true);
+            }
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    /**
+     * write-behind 모드를 끈 상태처럼 SQL을 실행하지 않는 경로에 넘기는 DatabaseClient입니다. 연결을 요청하면 예외가 발생합니다.
+     */
+    static DatabaseClient unusedDatabaseClient() {
+        return DatabaseClient.create(proxy(ConnectionFactory.class, (method, args) -> {
+            throw new UnsupportedOperationException("벤치마크에서는 DB 연결을 사용하지 않습니다: " + method.getName());
+        }));
+    }
+
+    private static ReactiveRedisConnectionFactory unusedConnectionFactory() {
+        return proxy(ReactiveRedisConnectionFactory.class, (method, args) -> {
+            throw new UnsupportedOperationException("벤치마크에서는 Redis 연결을 사용하지 않습니다: " + method.getName());
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<?> type, BiFunction<Method, Object[], Object> handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> self == args[0];
+                    case "hashCode" -> System.identityHashCode(self);
+                    default -> type.getSimpleName() + "(in-memory)";
+                };
+            }
+            return handler.apply(method, args);
+        });
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.mpole.reactiveapp.benchmark;
+
+import com.mpole.reactiveapp.config.ResilienceProperties;
+import com.mpole.reactiveapp.kafka.KafkaProducerService;
+import com.mpole.reactiveapp.resilience.DependencyGuards;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+KafkaProducerService 전송 경로 (브로커 ack 대기)
+브로커 대신 즉시 완료되는 MockProducer를 사용하므로 KafkaTemplate + Mono 변환 + 의존성 보호 비용만 측정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KafkaProducerBenchmark {
+
+    private static final String MESSAGE = "{\"type\":\"UPDATED\",\"userId\":1234567,\"name\":\"홍길동\","
+            + "\"email\":\"gildong.hong@example.com\"}";
+
+    private MockProducer<String, String> producer;
+    private KafkaProducerService kafkaProducerService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        producer = InMemoryStandIns.mockProducer();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        kafkaProducerService = new KafkaProducerService(InMemoryStandIns.kafkaTemplate(producer),
+                new DependencyGuards(new ResilienceProperties(), meterRegistry),
+                Schedulers.boundedElastic(), meterRegistry);
+    }
+
+    /**
+     * MockProducer에 쌓이는 전송 기록을 반복마다 비웁니다.
+     */
+    @Setup(Level.Iteration)
+    public void clearHistory() {
+        producer.clear();
+    }
+
+    @Benchmark
+    public void send() {
+        kafkaProducerService.send("1234567", MESSAGE).block();
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.mpole.reactiveapp.benchmark;
+
+import com.mpole.reactiveapp.cache.UserBinaryRedisSerializer;
+import com.mpole.reactiveapp.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+"user:{id}" 값 직렬화 비교: 기존 JSON(Jackson2JsonRedisSerializer) vs 바이너리 코덱(UserBinaryRedisSerializer)
+ns/op와 함께 Setup 단계에서 형식별 직렬화 크기(bytes)를 출력합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserRedisSerializerBenchmark {
+
+    @Param({"json", "binary"})
+    public String format;
+
+    /** typical: 일반적인 사용자, large: 압축 임계값을 넘는 값 */
+    @Param({"typical", "large"})
+    public String payload;
+
+    private RedisSerializer<User> serializer;
+    private User user;
+    private byte[] serialized;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        serializer = "json".equals(format)
+                ? new Jackson2JsonRedisSerializer<>(User.class)
+                : new UserBinaryRedisSerializer(512);
+        user = "typical".equals(payload)
+                ? new User(1_234_567L, "홍길동", "gildong.hong@example.com")
+                : new User(1_234_567L, "홍길동 ".repeat(200), "gildong.hong@example.com");
+        serialized = serializer.serialize(user);
+        System.out.printf("%n[size] format=%s, payload=%s, bytes=%d%n", format, payload, serialized.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(user);
+    }
+
+    @Benchmark
+    public User deserialize() {
+        return serializer.deserialize(serialized);
+    }
+
+}
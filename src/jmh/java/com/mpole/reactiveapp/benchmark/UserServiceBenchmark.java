@@ -0,0 +1,132 @@
+package com.mpole.reactiveapp.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mpole.reactiveapp.cache.UserCacheExpiry;
+import com.mpole.reactiveapp.cache.UserNearCache;
+import com.mpole.reactiveapp.config.ResilienceProperties;
+import com.mpole.reactiveapp.config.UserCacheProperties;
+import com.mpole.reactiveapp.config.WriteBehindProperties;
+import com.mpole.reactiveapp.model.User;
+import com.mpole.reactiveapp.outbox.UserOutbox;
+import com.mpole.reactiveapp.resilience.DependencyGuards;
+import com.mpole.reactiveapp.service.UserService;
+import com.mpole.reactiveapp.writebehind.UserWriteBehindBuffer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+UserService 리액티브 파이프라인 비교: getUserById(L1/Redis 히트, DB 미스) / createUser
+저장소·Redis·트랜잭션은 InMemoryStandIns의 인메모리 대역을 사용하므로 I/O 대기 없이 연산자 체인과 캐시 계층의 비용만 측정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserServiceBenchmark {
+
+    private static final int USER_COUNT = 10_000;
+
+    /** L1 로컬 캐시 사용 여부 (false이면 모든 조회가 Redis 대역을 거침) */
+    @Param({"true", "false"})
+    public boolean nearCache;
+
+    private final Map<Long, User> table = new ConcurrentHashMap<>();
+    private final Map<String, User> redis = new ConcurrentHashMap<>();
+    private final Map<String, String> redisStrings = new ConcurrentHashMap<>();
+    private final AtomicLong userSequence = new AtomicLong();
+
+    private UserNearCache userNearCache;
+    private UserService userService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        UserCacheProperties cacheProperties = new UserCacheProperties();
+        cacheProperties.getNear().setEnabled(nearCache);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        userNearCache = new UserNearCache(cacheProperties, InMemoryStandIns.pubSubStringRedisTemplate(), meterRegistry);
+
+        ReactiveRedisTemplate<String, User> redisTemplate = InMemoryStandIns.userRedisTemplate(redis);
+        UserOutbox userOutbox = new UserOutbox(InMemoryStandIns.outboxRepository(new AtomicLong()), new ObjectMapper());
+        TransactionalOperator transactionalOperator = InMemoryStandIns.transactionalOperator();
+        // write-behind 모드는 끈 상태(기본값)로 측정
+        UserWriteBehindBuffer writeBehind = new UserWriteBehindBuffer(InMemoryStandIns.unusedDatabaseClient(),
+                transactionalOperator, userOutbox, redisTemplate, InMemoryStandIns.pubSubStringRedisTemplate(),
+                new WriteBehindProperties(), new DependencyGuards(new ResilienceProperties(), meterRegistry), meterRegistry);
+
+        userService = new UserService(
+                InMemoryStandIns.userRepository(table, userSequence),
+                redisTemplate,
+                redisTemplate,
+                InMemoryStandIns.stringRedisTemplate(redisStrings),
+                userOutbox,
+                transactionalOperator,
+                userNearCache,
+                writeBehind,
+                new UserCacheExpiry(cacheProperties),
+                new DependencyGuards(new ResilienceProperties(), meterRegistry),
+                meterRegistry);
+    }
+
+    /**
+     * 반복마다 데이터를 초기 상태(USER_COUNT명, 전부 Redis에 캐시됨)로 되돌려 createUser로 늘어난 데이터를 정리합니다.
+     */
+    @Setup(Level.Iteration)
+    public void resetData() {
+        table.clear();
+        redis.clear();
+        redisStrings.clear();
+        userSequence.set(USER_COUNT);
+        for (long id = 1; id <= USER_COUNT; id++) {
+            User user = new User(id, "user" + id, "user" + id + "@example.com");
+            table.put(id, user);
+            redis.put("user:" + id, user);
+        }
+    }
+
+    @Benchmark
+    public User getUserById_cacheHit() {
+        return userService.getUserById(randomId()).block();
+    }
+
+    /**
+     * L1/Redis 미스 후 DB 대역에서 읽어 캐시를 다시 채우는 경로입니다. (미스를 만들기 위한 L1 무효화와 Redis 키 삭제 비용 포함)
+     */
+    @Benchmark
+    public User getUserById_cacheMiss() {
+        long id = randomId();
+        userNearCache.invalidate(id).block();
+        redis.remove("user:" + id);
+        return userService.getUserById(id).block();
+    }
+
+    @Benchmark
+    public User createUser() {
+        return userService.createUser(new User(null, "홍길동", "gildong.hong@example.com")).block();
+    }
+
+    private static long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, USER_COUNT + 1);
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.mpole.reactiveapp.loadtest;
+
+import com.github.fppt.jedismock.RedisServer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.io.IOException;
+
+/*
+부하 테스트용 내장 대역입니다. 외부 MariaDB/Redis/Kafka 없이 같은 프로세스 안에서 앱을 띄울 수 있게 합니다.
+- MariaDB : H2 (R2DBC, MariaDB 호환 모드) — application-loadtest.yml에서 지정
+- Redis   : jedis-mock (프로세스 내 Redis 프로토콜 서버, Lettuce는 HELLO 실패 시 RESP2로 연결)
+- Kafka   : spring-kafka-test 내장 KRaft 브로커
+
+대역의 성능 특성은 실제 인프라와 다르므로 결과는 같은 조건에서의 변경 전/후 비교(회귀 확인)에 사용합니다.
+ */
+final class EmbeddedInfrastructure implements AutoCloseable {
+
+    private static final String USER_TOPIC = "user-topic";
+
+    private final RedisServer redisServer;
+    private final EmbeddedKafkaBroker kafkaBroker;
+
+    private EmbeddedInfrastructure(RedisServer redisServer, EmbeddedKafkaBroker kafkaBroker) {
+        this.redisServer = redisServer;
+        this.kafkaBroker = kafkaBroker;
+    }
+
+    static EmbeddedInfrastructure start() throws IOException {
+        RedisServer redisServer = RedisServer.newRedisServer(); // 0번 포트: 빈 포트 자동 할당
+        redisServer.start();
+        EmbeddedKafkaBroker kafkaBroker = new EmbeddedKafkaKraftBroker(1, 3, USER_TOPIC);
+        kafkaBroker.afterPropertiesSet();
+        return new EmbeddedInfrastructure(redisServer, kafkaBroker);
+    }
+
+    /**
+     * 앱을 내장 대역에 연결하기 위한 커맨드라인 인자입니다. (동적으로 할당된 포트 반영)
+     */
+    String[] applicationArguments() {
+        return new String[]{
+                // RedisConfig가 직접 LettuceConnectionFactory를 만들며 spring.redis.* 를 읽음
+                "--spring.redis.host=" + redisServer.getHost(),
+                "--spring.redis.port=" + redisServer.getBindPort(),
+                "--spring.kafka.bootstrap-servers=" + kafkaBroker.getBrokersAsString()
+        };
+    }
+
+    @Override
+    public void close() throws IOException {
+        kafkaBroker.destroy();
+        redisServer.stop();
+    }
+
+}
@@ -0,0 +1,200 @@
+package com.mpole.reactiveapp.loadtest;
+
+import com.mpole.reactiveapp.loadtest.LoadTestSettings.Operation;
+import com.mpole.reactiveapp.model.User;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+/*
+WebClient로 /users API에 설정된 비율의 요청을 보내고 요청 종류별 지연 시간을 기록합니다.
+
+- closed-loop (rate = 0) : concurrency개의 요청을 응답이 오는 즉시 다시 보냄 → 최대 처리량 측정
+- open-loop   (rate > 0) : 1ms마다 예정된 요청을 발행하고, 지연 시간을 "예정 발행 시각"부터 잽니다.
+                           서버가 밀려 요청이 대기하는 시간도 지연 시간에 포함되므로 coordinated omission을 피합니다.
+ */
+final class LoadGenerator {
+
+    private final LoadTestSettings settings;
+    private final WebClient webClient;
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final AtomicLong createSequence = new AtomicLong();
+
+    LoadGenerator(LoadTestSettings settings, String baseUrl) {
+        this.settings = settings;
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("loadtest")
+                .maxConnections(settings.concurrency())
+                .pendingAcquireMaxCount(-1)
+                .build();
+        this.webClient = WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)
+                        .protocol(settings.http2() ? HttpProtocol.H2C : HttpProtocol.HTTP11)))
+                .build();
+        this.operations = settings.mix().keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += settings.mix().get(operations[i]);
+            cumulativeWeights[i] = total;
+            stats.put(operations[i], new OperationStats());
+        }
+    }
+
+    /**
+     * 앱이 요청을 받을 수 있을 때까지 기다립니다. (스키마 생성은 기동 후 비동기로 진행됨)
+     */
+    void awaitReady(Duration timeout) {
+        webClient.get().uri("/users?size=1")
+                .retrieve()
+                .toBodilessEntity()
+                .retryWhen(Retry.fixedDelay(Long.MAX_VALUE, Duration.ofMillis(500)))
+                .block(timeout);
+    }
+
+    /**
+     * 조회/수정 대상 사용자를 /users/import(NDJSON)로 등록합니다. 빈 DB 기준으로 ID는 1..users가 됩니다.
+     */
+    void seedUsers() {
+        Flux<String> lines = Flux.range(1, settings.users())
+                .map(i -> "{\"name\":\"user" + i + "\",\"email\":\"user" + i + "@example.com\"}\n");
+        webClient.post().uri("/users/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .body(lines, String.class)
+                .retrieve()
+                .bodyToFlux(String.class)
+                .blockLast();
+    }
+
+    /**
+     * 워밍업 후 측정 구간 동안 부하를 발생시키고 결과를 요약합니다.
+     *
+     * @return 요청 종류별 요약 (requests, errors, rps, p50/p90/p99/p999/max ms)
+     */
+    Map<String, Object> run() {
+        runFor(settings.warmup());
+        stats.values().forEach(OperationStats::reset);
+
+        long start = System.nanoTime();
+        runFor(settings.duration());
+        long elapsed = System.nanoTime() - start;
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        stats.forEach((operation, operationStats) ->
+                results.put(operation.name().toLowerCase(), operationStats.summarize(elapsed)));
+        return results;
+    }
+
+    private void runFor(Duration duration) {
+        if (duration.isZero() || duration.isNegative()) {
+            return;
+        }
+        long deadline = System.nanoTime() + duration.toNanos();
+        Flux<Void> load = settings.rate() > 0 ? openLoop(deadline) : closedLoop(deadline);
+        load.blockLast();
+    }
+
+    private Flux<Void> closedLoop(long deadline) {
+        return Flux.range(0, settings.concurrency())
+                .flatMap(worker -> Mono.defer(() -> execute(nextOperation(), System.nanoTime()))
+                        .repeat(() -> System.nanoTime() < deadline), settings.concurrency());
+    }
+
+    private Flux<Void> openLoop(long deadline) {
+        long start = System.nanoTime();
+        long intervalNanos = 1_000_000_000L / settings.rate();
+        AtomicLong issued = new AtomicLong();
+        return Flux.interval(Duration.ofMillis(1))
+                .takeWhile(tick -> System.nanoTime() < deadline)
+                .concatMapIterable(tick -> {
+                    // 지금까지 발행했어야 하는 요청 수만큼 예정 시각을 만들어 냄
+                    long due = (System.nanoTime() - start) / intervalNanos;
+                    long from = issued.get();
+                    issued.set(Math.max(from, due));
+                    return LongStream.range(from, due).mapToObj(n -> start + n * intervalNanos).toList();
+                })
+                .onBackpressureBuffer()
+                .flatMap(intendedStart -> execute(nextOperation(), intendedStart), settings.concurrency());
+    }
+
+    private Mono<Void> execute(Operation operation, long startNanos) {
+        OperationStats operationStats = stats.get(operation);
+        return request(operation)
+                .doOnSuccess(ignored -> operationStats.recordSuccess(System.nanoTime() - startNanos))
+                .onErrorResume(e -> {
+                    operationStats.recordError();
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> request(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (operation) {
+            case READ -> webClient.get().uri("/users/{id}", randomUserId(random))
+                    .retrieve()
+                    .bodyToMono(User.class)
+                    .then();
+            case BATCH -> {
+                List<Long> ids = new ArrayList<>(settings.batchSize());
+                for (int i = 0; i < settings.batchSize(); i++) {
+                    ids.add(randomUserId(random));
+                }
+                yield webClient.post().uri("/users/batch")
+                        .bodyValue(ids)
+                        .retrieve()
+                        .bodyToFlux(User.class)
+                        .then();
+            }
+            case UPDATE -> {
+                long id = randomUserId(random);
+                yield webClient.put().uri("/users/{id}", id)
+                        .bodyValue(new User(id, "user" + id + "-" + random.nextInt(1000), "user" + id + "@example.com"))
+                        .retrieve()
+                        .bodyToMono(User.class)
+                        .then();
+            }
+            case CREATE -> {
+                long n = createSequence.incrementAndGet();
+                yield webClient.post().uri("/users")
+                        .bodyValue(new User(null, "loadtest" + n, "loadtest" + n + "@example.com"))
+                        .retrieve()
+                        .bodyToMono(User.class)
+                        .then();
+            }
+        };
+    }
+
+    private Operation nextOperation() {
+        int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private long randomUserId(ThreadLocalRandom random) {
+        return random.nextLong(1, settings.users() + 1L);
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.mpole.reactiveapp.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/*
+부하 테스트 설정입니다. 모두 시스템 프로퍼티(-Dloadtest.*)로 지정합니다.
+
+  loadtest.base-url    : 대상 서버 주소, 비어 있으면 내장 대역(H2/Redis 대역/내장 Kafka)으로 앱을 직접 띄움
+  loadtest.users       : 시작 전에 등록해 둘 사용자 수 (조회/수정 대상)
+  loadtest.concurrency : 동시에 진행하는 최대 요청 수
+  loadtest.rate        : 초당 요청 수, 0이면 closed-loop (concurrency개 요청을 쉬지 않고 반복)
+  loadtest.warmup      : 측정 전 워밍업 시간 (ISO-8601, 예: PT10S)
+  loadtest.duration    : 측정 시간
+  loadtest.mix         : 요청 비율, 예: read=80,batch=5,update=10,create=5
+  loadtest.batch-size  : batch 요청 한 번에 조회할 ID 수
+  loadtest.http2       : true이면 h2c(평문 HTTP/2)로 요청 (서버는 app.netty.http2=true 필요)
+  loadtest.output      : 결과 JSON 파일 경로
+ */
+record LoadTestSettings(String baseUrl,
+                        int users,
+                        int concurrency,
+                        int rate,
+                        Duration warmup,
+                        Duration duration,
+                        Map<Operation, Integer> mix,
+                        int batchSize,
+                        boolean http2,
+                        String output) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                System.getProperty("loadtest.base-url", ""),
+                Integer.getInteger("loadtest.users", 10_000),
+                Integer.getInteger("loadtest.concurrency", 64),
+                Integer.getInteger("loadtest.rate", 0),
+                Duration.parse(System.getProperty("loadtest.warmup", "PT10S")),
+                Duration.parse(System.getProperty("loadtest.duration", "PT30S")),
+                parseMix(System.getProperty("loadtest.mix", "read=80,batch=5,update=10,create=5")),
+                Integer.getInteger("loadtest.batch-size", 50),
+                Boolean.getBoolean("loadtest.http2"),
+                System.getProperty("loadtest.output", "target/loadtest-result.json"));
+    }
+
+    boolean embedded() {
+        return baseUrl.isBlank();
+    }
+
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] pair = entry.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("loadtest.mix 형식 오류: " + entry);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.valueOf(pair[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix에 비율이 0보다 큰 요청이 하나 이상 필요합니다.");
+        }
+        return weights;
+    }
+
+    /** 부하 테스트가 보내는 요청 종류 */
+    enum Operation {
+        /** GET /users/{id} */
+        READ,
+        /** POST /users/batch */
+        BATCH,
+        /** PUT /users/{id} */
+        UPDATE,
+        /** POST /users */
+        CREATE
+    }
+
+}
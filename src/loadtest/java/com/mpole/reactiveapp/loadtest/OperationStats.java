@@ -0,0 +1,63 @@
+package com.mpole.reactiveapp.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+요청 종류별 지연 시간(HdrHistogram Recorder, ns)과 오류 수를 기록합니다.
+Recorder는 여러 스레드에서 동시에 기록해도 안전하며, 워밍업 구간은 reset()으로 버립니다.
+ */
+final class OperationStats {
+
+    private final Recorder recorder = new Recorder(3);
+    private final LongAdder errors = new LongAdder();
+
+    void recordSuccess(long latencyNanos) {
+        recorder.recordValue(latencyNanos);
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    void reset() {
+        recorder.reset();
+        errors.reset();
+    }
+
+    /**
+     * 측정 구간의 결과를 요약합니다. 지연 시간 단위는 ms입니다.
+     *
+     * @param elapsedNanos 측정 구간 길이
+     * @return 요청 수, 오류 수, 초당 요청 수, 백분위 지연 시간
+     */
+    Map<String, Object> summarize(long elapsedNanos) {
+        Histogram histogram = recorder.getIntervalHistogram();
+        double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", histogram.getTotalCount());
+        summary.put("errors", errors.sum());
+        summary.put("rps", round(histogram.getTotalCount() / seconds));
+        summary.put("meanMs", round(histogram.getMean() / 1_000_000.0));
+        summary.put("p50Ms", millis(histogram, 50));
+        summary.put("p90Ms", millis(histogram, 90));
+        summary.put("p99Ms", millis(histogram, 99));
+        summary.put("p999Ms", millis(histogram, 99.9));
+        summary.put("maxMs", round(histogram.getMaxValue() / 1_000_000.0));
+        return summary;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return round(histogram.getValueAtPercentile(percentile) / 1_000_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.mpole.reactiveapp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mpole.reactiveapp.ReactiveappApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+/users API 부하 테스트 진입점입니다.
+  mvn -Ploadtest -DskipTests verify -Dloadtest.duration=PT60S -Dloadtest.concurrency=128
+
+loadtest.base-url이 비어 있으면 내장 대역(EmbeddedInfrastructure) 위에 앱을 임의 포트로 띄우고,
+사용자를 미리 등록한 뒤 워밍업 → 측정 순서로 부하를 발생시킵니다.
+결과(요청 종류별 rps, p50/p90/p99/p99.9/max)는 콘솔과 JSON 파일로 남깁니다.
+ */
+public final class UserLoadTest {
+
+    private UserLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        if (!settings.embedded()) {
+            run(settings, settings.baseUrl());
+            return;
+        }
+        try (EmbeddedInfrastructure infrastructure = EmbeddedInfrastructure.start();
+             ConfigurableApplicationContext context = new SpringApplicationBuilder(ReactiveappApplication.class)
+                     .run(withProfile(infrastructure.applicationArguments()))) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            run(settings, "http://localhost:" + port);
+        }
+    }
+
+    private static void run(LoadTestSettings settings, String baseUrl) throws Exception {
+        LoadGenerator generator = new LoadGenerator(settings, baseUrl);
+        generator.awaitReady(Duration.ofMinutes(1));
+        if (settings.embedded()) {
+            generator.seedUsers();
+        }
+        System.out.printf("부하 테스트 시작: target=%s, concurrency=%d, rate=%s, warmup=%s, duration=%s, mix=%s%n",
+                baseUrl, settings.concurrency(), settings.rate() > 0 ? settings.rate() + "/s" : "closed-loop",
+                settings.warmup(), settings.duration(), settings.mix());
+
+        Map<String, Object> results = generator.run();
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", OffsetDateTime.now().toString());
+        report.put("target", baseUrl);
+        report.put("settings", settings);
+        report.put("results", results);
+
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT);
+        File output = new File(settings.output());
+        if (output.getParentFile() != null) {
+            output.getParentFile().mkdirs();
+        }
+        objectMapper.writeValue(output, report);
+
+        results.forEach((operation, summary) -> System.out.printf("%-7s %s%n", operation, summary));
+        System.out.println("결과 저장: " + output.getAbsolutePath());
+    }
+
+    private static String[] withProfile(String[] arguments) {
+        String[] result = new String[arguments.length + 1];
+        result[0] = "--spring.profiles.active=loadtest";
+        System.arraycopy(arguments, 0, result, 1, arguments.length);
+        return result;
+    }
+
+}
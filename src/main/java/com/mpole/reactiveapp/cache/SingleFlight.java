@@ -0,0 +1,89 @@
+package com.mpole.reactiveapp.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/*
+키 단위로 진행 중인 로딩 작업을 공유하는 single-flight 유틸리티입니다.
+같은 키에 대해 동시에 들어온 요청은 첫 요청(leader)의 결과를 함께 구독하며,
+작업이 끝나면 다음 요청은 새로운 로딩을 시작합니다.
+- 공유되는 작업에는 시간 제한(timeout)을 두어, 작업이 멈추더라도 합류한 요청이 무한정 기다리지 않고 TimeoutException으로 실패하며
+  키가 비워져 다음 요청은 새 로딩을 시작합니다.
+- 작업이 실패하면 합류한 모든 요청이 같은 오류를 받고, 실패한 결과는 보관하지 않습니다.
+- 합류한 요청 하나가 취소해도 공유 작업은 취소되지 않으므로 나머지 요청은 결과를 그대로 받습니다.
+
+메트릭:
+- singleflight.requests{name, result=leader}    : 실제로 로딩을 수행한 요청 수
+- singleflight.requests{name, result=coalesced} : 진행 중인 로딩에 합류한 요청 수
+- singleflight.requests{name, result=timeout}   : 시간 제한을 넘겨 실패한 로딩 수
+- singleflight.inflight{name}                   : 현재 진행 중인 키 수
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+    private final Duration timeout;
+    private final Counter leaders;
+    private final Counter coalesced;
+    private final Counter timeouts;
+
+    public SingleFlight(String name, Duration timeout, MeterRegistry meterRegistry) {
+        this.timeout = timeout;
+        this.leaders = Counter.builder("singleflight.requests")
+                .tag("name", name)
+                .tag("result", "leader")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("singleflight.requests")
+                .tag("name", name)
+                .tag("result", "coalesced")
+                .register(meterRegistry);
+        this.timeouts = Counter.builder("singleflight.requests")
+                .tag("name", name)
+                .tag("result", "timeout")
+                .register(meterRegistry);
+        meterRegistry.gaugeMapSize("singleflight.inflight", Tags.of("name", name), inFlight);
+    }
+
+    /**
+     * 키에 대해 진행 중인 작업이 있으면 그 결과를 공유하고, 없으면 loader로 새 작업을 시작합니다.
+     *
+     * @param key    작업을 구분하는 키
+     * @param loader 실제 로딩 작업을 만드는 공급자 (leader 요청에서만 호출)
+     * @return 공유되는 작업 결과
+     */
+    public Mono<V> execute(K key, Supplier<Mono<V>> loader) {
+        return Mono.defer(() -> {
+            AtomicReference<Mono<V>> self = new AtomicReference<>();
+            Mono<V> candidate = Mono.defer(loader)
+                    .timeout(timeout)
+                    .doOnError(TimeoutException.class, e -> timeouts.increment())
+                    .doFinally(signal -> inFlight.remove(key, self.get()))
+                    .cache();
+            self.set(candidate);
+
+            Mono<V> existing = inFlight.putIfAbsent(key, candidate);
+            if (existing != null) {
+                coalesced.increment();
+                return existing;
+            }
+            leaders.increment();
+            return candidate;
+        });
+    }
+
+    /**
+     * 현재 진행 중인 작업의 키 수입니다.
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+}
@@ -0,0 +1,226 @@
+package com.mpole.reactiveapp.cache;
+
+import com.mpole.reactiveapp.model.User;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/*
+User 값을 위한 스키마 버전이 있는 바이너리 Redis 직렬화기입니다. (리플렉션 없이 직접 인코딩)
+
+형식 (v1):
+  [0]   포맷 버전 (0x01)
+  [1]   플래그 (bit0: 본문 Deflate 압축)
+  [2..] 본문 — 압축 시 [원본 길이 varint][Deflate 데이터]
+본문:
+  [필드 존재 비트 (bit0 id, bit1 name, bit2 email, bit3 version)]
+  [id varint] [name 길이 varint + UTF-8] [email 길이 varint + UTF-8] [version varint]
+version은 본문 끝에 덧붙이므로 version을 모르는 이전 버전도 나머지 필드를 그대로 읽고, version 없이 저장된 값은 version이 null입니다.
+
+본문 크기가 compressionThreshold 이상이고 압축 결과가 더 작을 때만 압축합니다.
+'{'로 시작하는 값은 기존 JSON 형식으로 보고 Jackson으로 읽으므로, 직렬화 방식을 바꿔도 기존 캐시를 그대로 읽을 수 있습니다.
+ */
+public class UserBinaryRedisSerializer implements RedisSerializer<User> {
+
+    static final byte FORMAT_V1 = 0x01;
+    private static final byte FLAG_DEFLATED = 0x01;
+    private static final int ID_PRESENT = 0x01;
+    private static final int NAME_PRESENT = 0x02;
+    private static final int EMAIL_PRESENT = 0x04;
+    private static final int VERSION_PRESENT = 0x08;
+
+    private final int compressionThreshold;
+    private final RedisSerializer<User> legacyJson = new Jackson2JsonRedisSerializer<>(User.class);
+
+    /**
+     * @param compressionThreshold 압축을 시도하는 최소 본문 크기(바이트), 0 이하이면 압축하지 않음
+     */
+    public UserBinaryRedisSerializer(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(User user) throws SerializationException {
+        if (user == null) {
+            return new byte[0];
+        }
+        byte[] body = encodeBody(user);
+        byte flags = 0;
+        if (compressionThreshold > 0 && body.length >= compressionThreshold) {
+            byte[] deflated = deflate(body);
+            if (deflated.length < body.length) {
+                body = deflated;
+                flags |= FLAG_DEFLATED;
+            }
+        }
+        byte[] value = new byte[body.length + 2];
+        value[0] = FORMAT_V1;
+        value[1] = flags;
+        System.arraycopy(body, 0, value, 2, body.length);
+        return value;
+    }
+
+    @Override
+    public User deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] == '{') {
+            return legacyJson.deserialize(bytes);
+        }
+        if (bytes[0] != FORMAT_V1 || bytes.length < 2) {
+            throw new SerializationException("지원하지 않는 User 직렬화 형식입니다: " + bytes[0]);
+        }
+        ByteReader reader = new ByteReader(bytes, 2);
+        if ((bytes[1] & FLAG_DEFLATED) != 0) {
+            int length = (int) reader.readVarLong();
+            reader = new ByteReader(inflate(bytes, reader.position, length), 0);
+        }
+        return decodeBody(reader);
+    }
+
+    private static byte[] encodeBody(User user) {
+        byte[] name = user.getName() != null ? user.getName().getBytes(StandardCharsets.UTF_8) : null;
+        byte[] email = user.getEmail() != null ? user.getEmail().getBytes(StandardCharsets.UTF_8) : null;
+        int presence = (user.getId() != null ? ID_PRESENT : 0)
+                | (name != null ? NAME_PRESENT : 0)
+                | (email != null ? EMAIL_PRESENT : 0)
+                | (user.getVersion() != null ? VERSION_PRESENT : 0);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(32
+                + (name != null ? name.length : 0) + (email != null ? email.length : 0));
+        out.write(presence);
+        if (user.getId() != null) {
+            writeVarLong(out, user.getId());
+        }
+        writeBytes(out, name);
+        writeBytes(out, email);
+        if (user.getVersion() != null) {
+            writeVarLong(out, user.getVersion());
+        }
+        return out.toByteArray();
+    }
+
+    private static User decodeBody(ByteReader reader) {
+        int presence = reader.readByte();
+        User user = new User();
+        if ((presence & ID_PRESENT) != 0) {
+            user.setId(reader.readVarLong());
+        }
+        if ((presence & NAME_PRESENT) != 0) {
+            user.setName(reader.readString());
+        }
+        if ((presence & EMAIL_PRESENT) != 0) {
+            user.setEmail(reader.readString());
+        }
+        if ((presence & VERSION_PRESENT) != 0) {
+            user.setVersion(reader.readVarLong());
+        }
+        return user;
+    }
+
+    private static void writeBytes(ByteArrayOutputStream out, byte[] bytes) {
+        if (bytes != null) {
+            writeVarLong(out, bytes.length);
+            out.write(bytes, 0, bytes.length);
+        }
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static byte[] deflate(byte[] body) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(body);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length);
+            writeVarLong(out, body.length);
+            byte[] buffer = new byte[Math.max(64, body.length)];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(buffer);
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes, int offset, int length) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, offset, bytes.length - offset);
+            byte[] body = new byte[length];
+            int read = 0;
+            while (read < length && !inflater.finished()) {
+                int count = inflater.inflate(body, read, length - read);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += count;
+            }
+            if (read != length) {
+                throw new SerializationException("압축된 User 값이 손상되었습니다.");
+            }
+            return body;
+        } catch (DataFormatException e) {
+            throw new SerializationException("압축된 User 값을 해제할 수 없습니다.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static final class ByteReader {
+        private final byte[] bytes;
+        private int position;
+
+        private ByteReader(byte[] bytes, int position) {
+            this.bytes = bytes;
+            this.position = position;
+        }
+
+        int readByte() {
+            checkAvailable(1);
+            return bytes[position++] & 0xFF;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new SerializationException("잘못된 varint 값입니다.");
+        }
+
+        String readString() {
+            int length = (int) readVarLong();
+            checkAvailable(length);
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private void checkAvailable(int length) {
+            if (length < 0 || position + length > bytes.length) {
+                throw new SerializationException("User 값의 길이가 올바르지 않습니다.");
+            }
+        }
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.mpole.reactiveapp.cache;
+
+import com.mpole.reactiveapp.config.UserCacheProperties;
+import com.mpole.reactiveapp.model.User;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+"user:{id}" Redis 키의 만료 정책입니다.
+- TTL: 기본 ttl에 0 ~ ttlJitter 사이의 임의 시간을 더해, 한꺼번에 채운 키(예열, 일괄 등록)가 동시에 만료되지 않도록 합니다.
+- 조기 갱신(XFetch): 남은 TTL이 "DB 재조회 시간(EWMA) × beta × -ln(rand)"보다 작으면 만료 전에 미리 다시 읽습니다.
+  만료가 가까울수록, 재조회가 느릴수록 갱신 확률이 높아지며 인기 키도 요청 하나만 갱신하므로 만료 시점의 DB 몰림을 막습니다.
+  TTL이 없는 기존 키(남은 TTL 0)는 한 번 갱신되면서 TTL이 붙습니다.
+ */
+@Component
+public class UserCacheExpiry {
+
+    // 재조회 시간 EWMA의 가중치 (최근 값 비중)
+    private static final double EWMA_ALPHA = 0.2;
+
+    private final long ttlMillis;
+    private final long jitterMillis;
+    private final double earlyRefreshBeta;
+    // 재조회 시간 EWMA(나노초)를 double 비트로 보관
+    private final AtomicLong recomputeNanos = new AtomicLong(Double.doubleToLongBits(0));
+
+    public UserCacheExpiry(UserCacheProperties properties) {
+        UserCacheProperties.Redis redis = properties.getRedis();
+        this.ttlMillis = redis.getTtl().toMillis();
+        this.jitterMillis = redis.getTtlJitter().toMillis();
+        this.earlyRefreshBeta = redis.getEarlyRefreshBeta();
+    }
+
+    /**
+     * 새로 저장하는 키에 적용할 TTL을 계산합니다.
+     *
+     * @return ttl + (0 ~ ttlJitter) 임의 시간
+     */
+    public Duration nextTtl() {
+        long jitter = jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0;
+        return Duration.ofMillis(ttlMillis + jitter);
+    }
+
+    public boolean isEarlyRefreshEnabled() {
+        return earlyRefreshBeta > 0;
+    }
+
+    /**
+     * 남은 TTL을 보고 이번 조회에서 캐시를 미리 갱신할지 결정합니다. (XFetch)
+     *
+     * @param remaining 키의 남은 TTL (TTL이 없는 키는 0)
+     * @return 미리 갱신해야 하면 true
+     */
+    public boolean shouldRefreshEarly(Duration remaining) {
+        if (!isEarlyRefreshEnabled()) {
+            return false;
+        }
+        double delta = Double.longBitsToDouble(recomputeNanos.get());
+        double gap = delta * earlyRefreshBeta * -Math.log(1.0 - ThreadLocalRandom.current().nextDouble());
+        return gap >= remaining.toNanos();
+    }
+
+    /**
+     * DB 재조회에 걸린 시간을 EWMA에 반영합니다.
+     *
+     * @param nanos 재조회 시간(나노초)
+     */
+    public void recordRecompute(long nanos) {
+        recomputeNanos.updateAndGet(bits -> {
+            double current = Double.longBitsToDouble(bits);
+            double next = current == 0 ? nanos : current + EWMA_ALPHA * (nanos - current);
+            return Double.doubleToLongBits(next);
+        });
+    }
+
+    /**
+     * 여러 사용자를 키별 TTL로 Redis에 저장합니다.
+     * MSET은 TTL을 지정할 수 없으므로 키마다 SET EX를 보내되, 응답을 기다리지 않고 연달아 보내므로
+     * Lettuce 공유 연결 위에서 파이프라인처럼 한 번의 왕복에 가깝게 처리됩니다.
+     *
+     * @param operations "user:{id}" 값 연산
+     * @param users      저장할 사용자 (ID 필수)
+     * @param onlyIfAbsent true이면 이미 있는 키는 덮어쓰지 않음 (SET NX)
+     * @return 모든 키가 저장되었으면 true
+     */
+    public Mono<Boolean> cacheAll(ReactiveValueOperations<String, User> operations,
+                                  Collection<User> users,
+                                  boolean onlyIfAbsent) {
+        return Flux.fromIterable(users)
+                .flatMap(user -> onlyIfAbsent
+                        ? operations.setIfAbsent("user:" + user.getId(), user, nextTtl())
+                        : operations.set("user:" + user.getId(), user, nextTtl()), users.size() + 1)
+                .all(Boolean::booleanValue);
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.mpole.reactiveapp.cache;
+
+import com.mpole.reactiveapp.config.UserCacheProperties;
+import com.mpole.reactiveapp.model.User;
+import com.mpole.reactiveapp.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/*
+기동 시 최근 수정된 사용자(updated_at 최신순)를 Redis "user:{id}"에 미리 채웁니다.
+Redis 초기화/장애 조치 직후 첫 요청들이 한꺼번에 DB로 몰리지 않도록 하기 위한 것입니다.
+- batchSize명씩 키별 TTL로 SET NX를 파이프라인 전송하므로 이미 캐시된(더 최신일 수 있는) 값은 덮어쓰지 않습니다.
+- 기동 준비 작업(스키마 적용 등)이 끝난 뒤 StartupCoordinator가 시작합니다.
+- 예열이 끝날 때까지 헬스 상태는 OUT_OF_SERVICE이며, readiness 그룹에 포함되어 트래픽을 받지 않습니다.
+- 예열이 실패하거나 timeout을 넘기면 예열을 멈추고 UP으로 바꿔 트래픽을 받습니다. (캐시만 차갑게 시작)
+ */
+@Slf4j
+@Component
+public class UserCacheWarmer implements HealthIndicator {
+
+    private final UserRepository userRepository;
+    private final ReactiveRedisTemplate<String, User> redisTemplate;
+    private final UserCacheExpiry cacheExpiry;
+    private final UserCacheProperties.Warmup properties;
+
+    private volatile boolean finished;
+    private Disposable subscription;
+
+    public UserCacheWarmer(UserRepository userRepository,
+                           ReactiveRedisTemplate<String, User> redisTemplate,
+                           UserCacheExpiry cacheExpiry,
+                           UserCacheProperties properties) {
+        this.userRepository = userRepository;
+        this.redisTemplate = redisTemplate;
+        this.cacheExpiry = cacheExpiry;
+        this.properties = properties.getWarmup();
+    }
+
+    /**
+     * 예열을 비동기로 시작합니다. 사용하지 않도록 설정되어 있으면 바로 준비 완료 상태가 됩니다.
+     */
+    public void start() {
+        if (!properties.isEnabled()) {
+            finished = true;
+            return;
+        }
+        long start = System.nanoTime();
+        subscription = warmUp()
+                .timeout(properties.getTimeout())
+                .doOnSuccess(count -> log.info("사용자 캐시 예열 완료: {}명, {}ms",
+                        count, Duration.ofNanos(System.nanoTime() - start).toMillis()))
+                .doOnError(e -> log.warn("사용자 캐시 예열 중단, 예열 없이 트래픽을 받습니다.", e))
+                .onErrorResume(e -> Mono.empty())
+                .doFinally(signal -> finished = true)
+                .subscribe();
+    }
+
+    /**
+     * 최근 수정된 사용자를 batchSize명씩 Redis에 채웁니다.
+     *
+     * @return DB에서 읽어 Redis로 보낸 사용자 수
+     */
+    Mono<Long> warmUp() {
+        // Redis에 TTL 동안 남는 값이므로 복제 지연이 없는 primary에서 조회
+        return userRepository.findRecentlyUpdated(properties.getSize())
+                .buffer(properties.getBatchSize())
+                .concatMap(batch -> cacheExpiry.cacheAll(redisTemplate.opsForValue(), batch, true)
+                        .thenReturn((long) batch.size()))
+                .reduce(0L, Long::sum);
+    }
+
+    @Override
+    public Health health() {
+        return finished
+                ? Health.up().build()
+                : Health.outOfService().withDetail("warmup", "in progress").build();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+}
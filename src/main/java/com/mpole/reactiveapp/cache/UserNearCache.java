@@ -0,0 +1,135 @@
+package com.mpole.reactiveapp.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mpole.reactiveapp.config.UserCacheProperties;
+import com.mpole.reactiveapp.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/*
+Redis 앞단에 위치하는 프로세스 내(L1) 사용자 캐시입니다.
+크기와 TTL로 제한되며, 수정/삭제 시 Redis pub/sub 채널로 다른 노드의 L1 캐시도 무효화합니다.
+hit/miss/eviction 통계는 "cache.*{cache=user.near}" 메트릭으로 노출됩니다.
+ */
+@Slf4j
+@Component
+public class UserNearCache {
+
+    public static final String CACHE_NAME = "user.near";
+
+    private final Cache<Long, User> cache;
+    private final ReactiveStringRedisTemplate stringRedisTemplate;
+    private final String invalidationChannel;
+    private final boolean enabled;
+
+    private Disposable subscription;
+
+    public UserNearCache(UserCacheProperties properties,
+                         ReactiveStringRedisTemplate stringRedisTemplate,
+                         MeterRegistry meterRegistry) {
+        UserCacheProperties.Near near = properties.getNear();
+        this.enabled = near.isEnabled();
+        this.invalidationChannel = near.getInvalidationChannel();
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(near.getMaximumSize())
+                .expireAfterWrite(near.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * L1 캐시에서 사용자를 조회합니다.
+     *
+     * @param id 사용자 ID
+     * @return 캐시된 사용자, 없으면 null
+     */
+    public User getIfPresent(Long id) {
+        return enabled ? cache.getIfPresent(id) : null;
+    }
+
+    /**
+     * 사용자를 L1 캐시에 저장합니다.
+     *
+     * @param user 저장할 사용자
+     */
+    public void put(User user) {
+        if (enabled && user.getId() != null) {
+            cache.put(user.getId(), user);
+        }
+    }
+
+    /**
+     * 로컬 L1 캐시에서 사용자를 제거하고, 다른 노드에도 무효화 메시지를 발행합니다.
+     * 발행 실패는 요청을 실패시키지 않으며 L1 TTL이 지나면 자연히 정리됩니다.
+     *
+     * @param id 무효화할 사용자 ID
+     * @return 발행 완료를 나타내는 Mono
+     */
+    public Mono<Void> invalidate(Long id) {
+        return Mono.defer(() -> {
+            cache.invalidate(id);
+            if (!enabled) {
+                return Mono.empty();
+            }
+            return stringRedisTemplate.convertAndSend(invalidationChannel, String.valueOf(id))
+                    .doOnError(e -> log.warn("L1 캐시 무효화 메시지 발행 실패: id={}", id, e))
+                    .onErrorResume(e -> Mono.empty())
+                    .then();
+        });
+    }
+
+    /**
+     * 캐시 크기 산정을 위한 hit/miss/eviction 통계입니다.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @PostConstruct
+    void subscribeInvalidations() {
+        if (!enabled) {
+            return;
+        }
+        // listenToChannel은 호출 시점에 바로 연결하므로 defer로 감싸 최초 연결 실패도 재시도 대상에 포함
+        // (Redis 없이도 기동되고, 연결되면 구독 시작)
+        subscription = Flux.defer(() -> stringRedisTemplate.listenToChannel(invalidationChannel))
+                .map(ReactiveSubscription.Message::getMessage)
+                .doOnNext(this::invalidateLocally)
+                .doOnError(e -> log.warn("L1 캐시 무효화 채널 구독 실패, 재시도합니다: {}", e.toString()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30)))
+                .subscribe();
+    }
+
+    @PreDestroy
+    void unsubscribeInvalidations() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    private void invalidateLocally(String message) {
+        try {
+            cache.invalidate(Long.valueOf(message));
+        } catch (NumberFormatException e) {
+            log.warn("잘못된 L1 캐시 무효화 메시지: {}", message);
+        }
+    }
+
+}
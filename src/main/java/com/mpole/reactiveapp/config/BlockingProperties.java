@@ -0,0 +1,23 @@
+package com.mpole.reactiveapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/*
+블로킹 호출(Kafka 전송, 리소스 읽기 등)을 이벤트 루프 밖에서 실행하는 스케줄러 설정입니다.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.blocking")
+public class BlockingProperties {
+
+    /** 블로킹 호출을 실행할 스케줄러 */
+    private Mode mode = Mode.BOUNDED_ELASTIC;
+
+    public enum Mode {
+        /** Reactor 공용 boundedElastic (CPU 코어 수 × 10개 스레드, 초과 작업은 대기열) */
+        BOUNDED_ELASTIC,
+        /** 작업마다 가상 스레드 하나 (Java 21, 스레드 수 제한 없음) */
+        VIRTUAL_THREADS
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.mpole.reactiveapp.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.Scannable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+블로킹 호출 전용 Scheduler를 app.blocking.mode에 따라 생성합니다.
+블로킹 가능성이 있는 호출은 이 스케줄러에서 subscribeOn으로 실행하여 Netty 이벤트 루프와 parallel 스레드를 막지 않습니다.
+테스트에서는 BlockHound가 이벤트 루프/parallel 스레드의 블로킹 호출을 찾아 실패시킵니다.
+가상 스레드 모드는 작업마다 스레드를 만들어 대기열이 없으므로, 실행 중인 작업 수를 Scannable BUFFERED로 보고하여
+ReactorSchedulerMetrics가 boundedElastic과 같은 게이지로 노출할 수 있게 합니다.
+ */
+@Configuration
+public class BlockingSchedulerConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler blockingScheduler(BlockingProperties properties) {
+        return create(properties.getMode());
+    }
+
+    /**
+     * 모드에 맞는 블로킹 호출용 Scheduler를 생성합니다.
+     *
+     * @param mode 스케줄러 종류
+     * @return BOUNDED_ELASTIC은 공용 boundedElastic (dispose해도 닫히지 않음), VIRTUAL_THREADS는 작업마다 가상 스레드를 만드는 스케줄러
+     */
+    public static Scheduler create(BlockingProperties.Mode mode) {
+        return switch (mode) {
+            case BOUNDED_ELASTIC -> Schedulers.boundedElastic();
+            case VIRTUAL_THREADS -> Schedulers.fromExecutorService(new VirtualThreadExecutor(), "blockingVirtual");
+        };
+    }
+
+    // 작업마다 가상 스레드를 만들고, 실행 중인 작업 수를 셉니다.
+    private static final class VirtualThreadExecutor extends AbstractExecutorService implements Scannable {
+
+        private final ExecutorService delegate =
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("blocking-vt-", 0).factory());
+        private final AtomicInteger active = new AtomicInteger();
+
+        @Override
+        public void execute(Runnable task) {
+            active.incrementAndGet();
+            try {
+                delegate.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        active.decrementAndGet();
+                    }
+                });
+            } catch (RuntimeException e) {
+                active.decrementAndGet(); // 종료 후 거부된 작업
+                throw e;
+            }
+        }
+
+        @Override
+        public Object scanUnsafe(Attr key) {
+            return key == Attr.BUFFERED ? active.get() : null;
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+
+    }
+
+}
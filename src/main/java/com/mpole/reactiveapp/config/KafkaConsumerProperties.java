@@ -0,0 +1,21 @@
+package com.mpole.reactiveapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/*
+KafkaConsumerService의 배치 처리 설정입니다.
+poll 크기 등 컨슈머 자체 설정은 spring.kafka.consumer.* 를 사용합니다.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.kafka.consumer")
+public class KafkaConsumerProperties {
+
+    /** 한 배치 안에서 동시에 처리하는 최대 키(사용자) 수, 같은 키는 항상 순서대로 처리 */
+    private int parallelism = 16;
+    /** 배치 하나의 최대 처리 시간, 넘으면 커밋하지 않고 실패하여 컨테이너의 에러 핸들러가 배치를 재시도 */
+    private Duration batchTimeout = Duration.ofSeconds(30);
+
+}
@@ -0,0 +1,25 @@
+package com.mpole.reactiveapp.config;
+
+import com.mpole.reactiveapp.model.User;
+import com.mpole.reactiveapp.model.UserEvent;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/*
+GraalVM 네이티브 이미지용 런타임 힌트입니다. (JVM 모드에서는 사용되지 않음)
+- User      : Redis 값(Jackson2JsonRedisSerializer)으로 컨트롤러 시그니처 밖에서 직렬화됨
+- UserEvent : 아웃박스 payload로 ObjectMapper가 직접 직렬화함
+- db/*.sql  : DatabaseInitializer가 읽는 스키마 스크립트
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    private final BindingReflectionHintsRegistrar bindingHints = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        bindingHints.registerReflectionHints(hints.reflection(), User.class, UserEvent.class);
+        hints.resources().registerPattern("db/*.sql");
+    }
+
+}
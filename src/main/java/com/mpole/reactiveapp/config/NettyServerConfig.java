@@ -0,0 +1,122 @@
+package com.mpole.reactiveapp.config;
+
+import com.mpole.reactiveapp.ratelimit.ConnectionLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.Channel;
+import io.netty.channel.ServerChannel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+import java.util.regex.Pattern;
+
+/*
+Reactor Netty HTTP 서버 런타임 설정입니다. (app.netty.*)
+- 전송: Linux에서 epoll을 쓸 수 있으면 네이티브 전송, 아니면 NIO (기동 로그에 선택 결과를 남김)
+- 이벤트 루프: 서버 전용 LoopResources(accept 스레드 1개 + 워커 eventLoopThreads개, "http-server-*")
+  Lettuce(RedisConfig)와 WebClient는 각자의 스레드를 쓰므로 서버 이벤트 루프와 섞이지 않습니다.
+- HTTP/2: http2=true이면 HTTP/1.1과 함께 h2c(prior knowledge, Upgrade)를 받고, 연결당 스트림 수를 제한합니다.
+  TLS 위 HTTP/2(h2)는 server.ssl + server.http2.enabled로 설정합니다.
+- 연결: idleTimeout 동안 요청이 없는 연결은 닫고, maxConnections를 넘는 연결은 받자마자 닫습니다.
+- 메트릭: Reactor Netty 메트릭을 켜면 Micrometer 전역 레지스트리(Spring Boot가 연결)에 다음이 기록됩니다.
+  reactor.netty.http.server.connections.active / data.received / data.sent / response.time ...
+  reactor.netty.bytebuf.allocator.used.direct.memory / used.heap.memory / active.direct.memory ... (풀링 할당기)
+  uri 태그는 숫자 경로를 {id}로 바꿔 카디널리티를 제한합니다.
+
+변경 전후 비교는 같은 부하로 측정합니다. (UserLoadTest, 결과: target/loadtest-result.json)
+  mvn -Ploadtest -DskipTests verify                                  # 기준
+  APP_NETTY_EVENT_LOOP_THREADS=8 mvn -Ploadtest -DskipTests verify   # 설정만 바꿔 다시 측정
+  APP_NETTY_HTTP2=true mvn -Ploadtest -DskipTests verify -Dloadtest.http2=true
+
+메트릭:
+- http.server.connections.open     : 열린 연결 수 (maxConnections 사용 시)
+- http.server.connections.rejected : 연결 수 한도로 닫은 연결 수
+ */
+@Slf4j
+@Configuration
+public class NettyServerConfig {
+
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    @Bean(destroyMethod = "dispose")
+    public LoopResources serverLoopResources(NettyServerProperties properties) {
+        int workers = properties.getEventLoopThreads() > 0
+                ? properties.getEventLoopThreads()
+                : LoopResources.DEFAULT_IO_WORKER_COUNT;
+        return LoopResources.create("http-server", 1, workers, true);
+    }
+
+    @Bean
+    public NettyServerCustomizer nettyServerCustomizer(NettyServerProperties properties,
+                                                       LoopResources serverLoopResources,
+                                                       MeterRegistry meterRegistry) {
+        boolean useNative = properties.isNativeTransport() && LoopResources.hasNativeSupport();
+        log.info("HTTP 서버 전송: {}, 이벤트 루프 워커: {}, HTTP/2(h2c): {}",
+                useNative ? "native(epoll)" : "NIO",
+                properties.getEventLoopThreads() > 0 ? properties.getEventLoopThreads() : LoopResources.DEFAULT_IO_WORKER_COUNT,
+                properties.isHttp2());
+
+        ConnectionLimiter connectionLimiter = null;
+        Counter rejected = null;
+        if (properties.getMaxConnections() > 0) {
+            connectionLimiter = new ConnectionLimiter(properties.getMaxConnections());
+            Gauge.builder("http.server.connections.open", connectionLimiter, ConnectionLimiter::getOpenConnections)
+                    .description("HTTP 서버에 열린 연결 수")
+                    .register(meterRegistry);
+            rejected = Counter.builder("http.server.connections.rejected")
+                    .description("동시 연결 수 한도로 닫은 연결 수")
+                    .register(meterRegistry);
+        }
+        ConnectionLimiter limiter = connectionLimiter;
+        Counter rejectedConnections = rejected;
+        return httpServer -> customize(httpServer, properties, serverLoopResources, useNative, limiter, rejectedConnections);
+    }
+
+    static HttpServer customize(HttpServer httpServer,
+                                NettyServerProperties properties,
+                                LoopResources loopResources,
+                                boolean useNative,
+                                ConnectionLimiter limiter,
+                                Counter rejected) {
+        HttpServer server = httpServer.runOn(loopResources, useNative)
+                .idleTimeout(properties.getIdleTimeout());
+        if (properties.isHttp2()) {
+            server = server.protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+                    .http2Settings(settings -> settings.maxConcurrentStreams(properties.getMaxConcurrentStreams()));
+        }
+        if (properties.isMetrics()) {
+            server = server.metrics(true, NettyServerConfig::uriTag);
+        }
+        if (limiter != null) {
+            server = server.doOnChannelInit((observer, channel, remoteAddress) -> limit(channel, limiter, rejected));
+        }
+        return server;
+    }
+
+    private static void limit(Channel channel, ConnectionLimiter limiter, Counter rejected) {
+        // HTTP/2 스트림 채널(부모가 연결 채널)은 세지 않고, 서버 소켓이 받은 연결만 셈
+        if (!(channel.parent() instanceof ServerChannel)) {
+            return;
+        }
+        if (!limiter.tryAcquire()) {
+            rejected.increment();
+            channel.close();
+            return;
+        }
+        channel.closeFuture().addListener(future -> limiter.release());
+    }
+
+    // /users/123 → /users/{id} (쿼리 문자열 제외)
+    static String uriTag(String uri) {
+        int query = uri.indexOf('?');
+        String path = query >= 0 ? uri.substring(0, query) : uri;
+        return NUMERIC_SEGMENT.matcher(path).replaceAll("/{id}");
+    }
+
+}
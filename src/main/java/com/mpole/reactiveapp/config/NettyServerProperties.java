@@ -0,0 +1,30 @@
+package com.mpole.reactiveapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/*
+Reactor Netty HTTP 서버 런타임 설정입니다. (NettyServerConfig)
+ */
+@Data
+@ConfigurationProperties(prefix = "app.netty")
+public class NettyServerProperties {
+
+    /** true이고 epoll을 쓸 수 있으면(Linux + netty-transport-native-epoll) 네이티브 전송 사용, 아니면 NIO */
+    private boolean nativeTransport = true;
+    /** 이벤트 루프(워커) 스레드 수, 0이면 Reactor Netty 기본값 (CPU 코어 수, 최소 4) */
+    private int eventLoopThreads = 0;
+    /** HTTP/1.1과 함께 평문 HTTP/2(h2c) 허용, 한 연결에서 여러 요청을 동시에 처리 */
+    private boolean http2 = false;
+    /** HTTP/2 연결 하나에서 동시에 처리하는 최대 스트림(요청) 수 */
+    private long maxConcurrentStreams = 256;
+    /** 요청 없이 이 시간이 지난 keep-alive 연결은 닫음 */
+    private Duration idleTimeout = Duration.ofSeconds(60);
+    /** 동시 연결 수 한도, 넘는 연결은 받자마자 닫음 (0이면 제한 없음) */
+    private int maxConnections = 0;
+    /** Reactor Netty 메트릭(연결 수, 전송량, 풀링 ByteBuf 할당기 메모리) 사용 */
+    private boolean metrics = true;
+
+}
@@ -0,0 +1,24 @@
+package com.mpole.reactiveapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/*
+사용자 이벤트 아웃박스 릴레이 설정입니다.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+
+    /** 아웃박스 릴레이 실행 여부 */
+    private boolean relayEnabled = true;
+    /** 아웃박스 테이블 조회 주기 */
+    private Duration pollInterval = Duration.ofMillis(200);
+    /** 한 번에 발행하는 최대 이벤트 수 */
+    private int batchSize = 500;
+    /** 배치 내에서 동시에 브로커 응답을 기다리는 최대 전송 수 */
+    private int maxInFlight = 64;
+
+}
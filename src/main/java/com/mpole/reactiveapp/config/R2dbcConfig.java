@@ -0,0 +1,95 @@
+package com.mpole.reactiveapp.config;
+
+import com.mpole.reactiveapp.db.ReplicaRoutingConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Option;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.PropertyMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.util.StringUtils;
+
+import java.util.Map;
+
+/*
+R2DBC 커넥션 풀을 직접 구성합니다. (자동 구성 풀 대신 사용)
+- primary 풀: spring.r2dbc.url / username / password / properties + spring.r2dbc.pool.*
+- replica 풀: app.r2dbc.replica.url이 설정된 경우에만 생성, 풀 설정은 primary와 동일
+- replica가 있으면 ReplicaRoutingConnectionFactory가 @Primary 커넥션 팩토리가 되어
+  readOnly(...)로 표시된 조회만 replica로 보냅니다.
+풀 사용량은 빈 이름별 r2dbc.pool.* 메트릭으로 노출됩니다.
+ */
+@Configuration
+@EnableConfigurationProperties(R2dbcProperties.class)
+public class R2dbcConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool primaryConnectionPool(R2dbcProperties r2dbcProperties, R2dbcPoolProperties poolProperties) {
+        return connectionPool("primary", r2dbcProperties.getUrl(), r2dbcProperties.getUsername(),
+                r2dbcProperties.getPassword(), r2dbcProperties, poolProperties);
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "app.r2dbc.replica", name = "url")
+    static class ReplicaConfiguration {
+
+        @Bean(destroyMethod = "dispose")
+        public ConnectionPool replicaConnectionPool(R2dbcProperties r2dbcProperties, R2dbcPoolProperties poolProperties) {
+            R2dbcPoolProperties.Replica replica = poolProperties.getReplica();
+            return connectionPool("replica", replica.getUrl(),
+                    StringUtils.hasText(replica.getUsername()) ? replica.getUsername() : r2dbcProperties.getUsername(),
+                    StringUtils.hasText(replica.getPassword()) ? replica.getPassword() : r2dbcProperties.getPassword(),
+                    r2dbcProperties, poolProperties);
+        }
+
+        @Bean
+        @Primary // DatabaseClient / 트랜잭션 매니저 / 리포지토리가 사용하는 커넥션 팩토리
+        public ConnectionFactory connectionFactory(@Qualifier("primaryConnectionPool") ConnectionPool primary,
+                                                   @Qualifier("replicaConnectionPool") ConnectionPool replica) {
+            return new ReplicaRoutingConnectionFactory(primary, replica);
+        }
+
+    }
+
+    private static ConnectionPool connectionPool(String name, String url, String username, String password,
+                                                 R2dbcProperties r2dbcProperties, R2dbcPoolProperties poolProperties) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (StringUtils.hasText(username)) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        if (StringUtils.hasText(password)) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        // 드라이버 옵션 (예: MariaDB useServerPrepStmts, prepareCacheSize)
+        for (Map.Entry<String, String> property : r2dbcProperties.getProperties().entrySet()) {
+            options.option(Option.valueOf(property.getKey()), property.getValue());
+        }
+
+        R2dbcProperties.Pool pool = r2dbcProperties.getPool();
+        ConnectionPoolConfiguration.Builder configuration = ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options.build()))
+                .name(name)
+                .initialSize(pool.getInitialSize())
+                .minIdle(pool.getMinIdle())
+                .maxSize(pool.getMaxSize())
+                .validationDepth(pool.getValidationDepth());
+        // 설정하지 않은(null) 시간 항목은 r2dbc-pool 기본값 유지
+        PropertyMapper map = PropertyMapper.get().alwaysApplyingWhenNonNull();
+        map.from(pool.getMaxIdleTime()).to(configuration::maxIdleTime);
+        map.from(pool.getMaxLifeTime()).to(configuration::maxLifeTime);
+        map.from(pool.getMaxAcquireTime()).to(configuration::maxAcquireTime);
+        map.from(pool.getMaxCreateConnectionTime()).to(configuration::maxCreateConnectionTime);
+        map.from(pool.getValidationQuery()).whenHasText().to(configuration::validationQuery);
+        map.from(poolProperties.getBackgroundEvictionInterval()).to(configuration::backgroundEvictionInterval);
+        return new ConnectionPool(configuration.build());
+    }
+
+}
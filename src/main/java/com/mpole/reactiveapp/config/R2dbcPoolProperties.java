@@ -0,0 +1,30 @@
+package com.mpole.reactiveapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/*
+R2DBC 커넥션 풀 보조 설정과 읽기 전용 복제본(replica) 설정입니다.
+풀 크기/타임아웃 등 기본 항목은 spring.r2dbc.pool.* 을 그대로 사용하며, primary와 replica 풀에 같은 값이 적용됩니다.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.r2dbc")
+public class R2dbcPoolProperties {
+
+    /** 유휴 커넥션 정리(max-idle-time 초과 커넥션 제거)를 백그라운드에서 수행하는 주기, 0이면 획득/반납 시에만 정리 */
+    private Duration backgroundEvictionInterval = Duration.ofSeconds(30);
+    private Replica replica = new Replica();
+
+    @Data
+    public static class Replica {
+        /** 복제본 R2DBC URL, 비어 있으면 모든 쿼리를 primary로 보냄 */
+        private String url;
+        /** 복제본 사용자, 비어 있으면 spring.r2dbc.username 사용 */
+        private String username;
+        /** 복제본 비밀번호, 비어 있으면 spring.r2dbc.password 사용 */
+        private String password;
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.mpole.reactiveapp.config;
+
+import com.mpole.reactiveapp.ratelimit.AdaptiveConcurrencyLimiter;
+import com.mpole.reactiveapp.ratelimit.ClientRateLimiter;
+import com.mpole.reactiveapp.ratelimit.LocalTokenBucketRateLimiter;
+import com.mpole.reactiveapp.ratelimit.RedisTokenBucketRateLimiter;
+import com.mpole.reactiveapp.ratelimit.WriteLoadSheddingFilter;
+import com.mpole.reactiveapp.resilience.DependencyGuards;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    public WriteLoadSheddingFilter writeLoadSheddingFilter(RateLimitProperties properties,
+                                                           ReactiveStringRedisTemplate stringRedisTemplate,
+                                                           DependencyGuards guards,
+                                                           MeterRegistry meterRegistry) {
+        ClientRateLimiter rateLimiter = !properties.isEnabled() ? null : switch (properties.getBackend()) {
+            case LOCAL -> new LocalTokenBucketRateLimiter(properties);
+            case REDIS -> new RedisTokenBucketRateLimiter(stringRedisTemplate, guards, properties);
+        };
+        AdaptiveConcurrencyLimiter concurrencyLimiter = properties.getConcurrency().isEnabled()
+                ? new AdaptiveConcurrencyLimiter(properties.getConcurrency())
+                : null;
+        return new WriteLoadSheddingFilter(rateLimiter, concurrencyLimiter, properties, meterRegistry);
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.mpole.reactiveapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+쓰기 API(POST/PUT/DELETE /users) 요청 제한과 과부하 시 요청 차단(load shedding) 설정입니다.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    /** 클라이언트별 토큰 버킷 제한 사용 여부 */
+    private boolean enabled = true;
+    /** 토큰 버킷 저장 위치 */
+    private Backend backend = Backend.LOCAL;
+    /** 버킷 크기 (한 번에 허용하는 최대 버스트 요청 수) */
+    private int capacity = 50;
+    /** 초당 채워지는 토큰 수 (지속 허용 요청률) */
+    private double refillPerSecond = 20;
+    /** 클라이언트를 구분하는 요청 헤더, trustedProxies에서 온 요청에만 사용하고 그 외에는 원격 주소로 구분 */
+    private String clientHeader = "X-Client-Id";
+    /** clientHeader를 믿을 수 있는 프록시(게이트웨이)의 원격 주소 목록, 비어 있으면 항상 원격 주소로 구분 */
+    private List<String> trustedProxies = new ArrayList<>();
+    /** REDIS 모드에서 버킷을 저장하는 키 접두사 */
+    private String redisKeyPrefix = "ratelimit:";
+    /** 요청이 없는 클라이언트의 버킷을 정리하는 시간 */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+    /** LOCAL 모드에서 보관하는 최대 클라이언트 버킷 수 */
+    private long maxClients = 100_000;
+    private Concurrency concurrency = new Concurrency();
+
+    @Data
+    public static class Concurrency {
+        /** 지연 시간 기반 동시 처리 한도 사용 여부 */
+        private boolean enabled = true;
+        /** 시작 동시 처리 한도 */
+        private int initialLimit = 64;
+        /** 동시 처리 한도의 하한 */
+        private int minLimit = 8;
+        /** 동시 처리 한도의 상한 */
+        private int maxLimit = 512;
+        /** 기준(장기 평균) 지연 시간 대비 허용 배수, 클수록 지연 증가에 둔감 */
+        private double tolerance = 1.5;
+        /** 새로 계산한 한도를 반영하는 비율 (0 ~ 1) */
+        private double smoothing = 0.2;
+    }
+
+    public enum Backend {
+        /** 노드별 메모리 버킷 (노드 수만큼 전체 허용량이 늘어남) */
+        LOCAL,
+        /** Redis Lua 스크립트로 모든 노드가 같은 버킷을 공유 */
+        REDIS
+    }
+
+}
@@ -1,36 +1,150 @@
 package com.mpole.reactiveapp.config;
 
+import com.mpole.reactiveapp.cache.UserBinaryRedisSerializer;
 import com.mpole.reactiveapp.model.User;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.DefaultClientResources;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.core.env.Environment;
 import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisConfiguration;
+import org.springframework.data.redis.connection.RedisPassword;
+import org.springframework.data.redis.connection.RedisSentinelConfiguration;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.util.HashSet;
+
+/*
+Redis 연결과 템플릿 설정입니다.
+- app.redis.mode에 따라 standalone(spring.redis.host/port) / sentinel / cluster로 연결합니다.
+- 기본 연결 팩토리와 템플릿은 읽기/쓰기 모두 master를 사용합니다. replica는 비동기 복제이므로 방금 쓴 값을 잠시
+  이전 값으로 읽을 수 있는데, write-behind 저널 복구, 이메일→ID 매핑 조회, 수정 시 이전 캐시 버전 조회는
+  오래된 값을 읽으면 안 되기 때문입니다.
+- SENTINEL/CLUSTER 모드에서는 조회 명령을 app.redis.read-from(기본 REPLICA_PREFERRED)에 따라 replica로 보내는
+  별도 연결 팩토리(replicaRedisConnectionFactory)와 replicaUserRedisTemplate을 둡니다. 이 템플릿은 TTL/무효화로
+  잠깐의 지연을 허용하는 단건 사용자 캐시 조회(getUserById)에서만 사용하여 가장 많은 읽기를 replica로 분산합니다.
+- 각 연결 팩토리는 하나의 공유 네이티브 연결(노드별)을 사용합니다. 리액티브 명령은 응답을 기다리지 않고 같은 연결로
+  연달아 전송되므로 별도 설정 없이 파이프라인으로 묶여 전송됩니다.
+- CLUSTER 모드의 MGET("user:{id}" 일괄 조회)은 Lettuce 클러스터 명령이 슬롯별로 나누어 각 노드에 병렬로 보내고
+  요청 순서대로 합치므로 CROSSSLOT 오류 없이 동작합니다. 그 밖의 명령은 단일 키만 사용합니다.
+ */
 @Configuration
 @EnableCaching
 public class RedisConfig {
 
+    // Lettuce I/O·계산 스레드 (모든 Redis 연결이 공유)
+    @Bean(destroyMethod = "shutdown")
+    public ClientResources lettuceClientResources(RedisTopologyProperties topology) {
+        DefaultClientResources.Builder builder = DefaultClientResources.builder();
+        if (topology.getIoThreads() > 0) {
+            builder.ioThreadPoolSize(topology.getIoThreads());
+        }
+        if (topology.getComputationThreads() > 0) {
+            builder.computationThreadPoolSize(topology.getComputationThreads());
+        }
+        return builder.build();
+    }
+
+    @Bean
+    @Primary // 기본 RedisConnectionFactory로 지정 (master에서 읽기/쓰기)
+    public ReactiveRedisConnectionFactory reactiveRedisConnectionFactory(Environment env,
+                                                                         RedisTopologyProperties topology,
+                                                                         ClientResources clientResources) {
+        return connectionFactory(env, topology, clientResources, false);
+    }
+
+    // replica 조회용 연결 팩토리 (STANDALONE 모드에서는 replica가 없으므로 같은 노드로 연결)
     @Bean
-    @Primary // 기본 RedisConnectionFactory로 지정
-    public ReactiveRedisConnectionFactory reactiveRedisConnectionFactory(Environment env) {
-        RedisStandaloneConfiguration redisConfig = new RedisStandaloneConfiguration();
-        String redisHost = env.getProperty("spring.redis.host", "localhost");
-        int port = env.getProperty("spring.redis.port", Integer.class, 6379);
-        String password = env.getProperty("spring.redis.password", "");
-
-        redisConfig.setHostName(redisHost);
-        redisConfig.setPort(port);
-        redisConfig.setPassword(password);
-        return new LettuceConnectionFactory(redisConfig);
+    public ReactiveRedisConnectionFactory replicaRedisConnectionFactory(Environment env,
+                                                                        RedisTopologyProperties topology,
+                                                                        ClientResources clientResources) {
+        return connectionFactory(env, topology, clientResources, true);
+    }
+
+    private static LettuceConnectionFactory connectionFactory(Environment env,
+                                                              RedisTopologyProperties topology,
+                                                              ClientResources clientResources,
+                                                              boolean readFromReplicas) {
+        RedisPassword password = RedisPassword.of(env.getProperty("spring.redis.password", ""));
+        RedisConfiguration redisConfig = switch (topology.getMode()) {
+            case STANDALONE -> {
+                RedisStandaloneConfiguration standalone = new RedisStandaloneConfiguration();
+                standalone.setHostName(env.getProperty("spring.redis.host", "localhost"));
+                standalone.setPort(env.getProperty("spring.redis.port", Integer.class, 6379));
+                standalone.setPassword(password);
+                yield standalone;
+            }
+            case SENTINEL -> {
+                RedisSentinelConfiguration sentinel = new RedisSentinelConfiguration(
+                        topology.getSentinelMaster(), new HashSet<>(topology.getNodes()));
+                sentinel.setPassword(password);
+                yield sentinel;
+            }
+            case CLUSTER -> {
+                RedisClusterConfiguration cluster = new RedisClusterConfiguration(topology.getNodes());
+                cluster.setMaxRedirects(topology.getMaxRedirects());
+                cluster.setPassword(password);
+                yield cluster;
+            }
+        };
+
+        LettuceClientConfiguration.LettuceClientConfigurationBuilder clientConfig = LettuceClientConfiguration.builder()
+                .clientResources(clientResources)
+                .clientOptions(clientOptions(topology))
+                .commandTimeout(topology.getCommandTimeout());
+        if (readFromReplicas && topology.getMode() != RedisTopologyProperties.Mode.STANDALONE) {
+            clientConfig.readFrom(readFrom(topology.getReadFrom()));
+        }
+
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(redisConfig, clientConfig.build());
+        factory.setShareNativeConnection(true); // 같은 팩토리의 템플릿이 노드별 연결 하나를 공유
+        return factory;
+    }
+
+    private static ClientOptions clientOptions(RedisTopologyProperties topology) {
+        if (topology.getMode() == RedisTopologyProperties.Mode.CLUSTER) {
+            return ClusterClientOptions.builder()
+                    .topologyRefreshOptions(ClusterTopologyRefreshOptions.builder()
+                            .enablePeriodicRefresh(topology.getTopologyRefreshPeriod())
+                            .enableAllAdaptiveRefreshTriggers() // MOVED/ASK, 재연결 시 즉시 갱신
+                            .build())
+                    .maxRedirects(topology.getMaxRedirects())
+                    // 연결이 끊긴 동안 명령을 쌓아 두지 않고 바로 실패 (캐시 없이 DB로 조회)
+                    .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                    .publishOnScheduler(topology.isPublishOnScheduler())
+                    .build();
+        }
+        return ClientOptions.builder()
+                .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                .publishOnScheduler(topology.isPublishOnScheduler())
+                .build();
+    }
+
+    static ReadFrom readFrom(RedisTopologyProperties.ReadPreference preference) {
+        return switch (preference) {
+            case UPSTREAM -> ReadFrom.UPSTREAM;
+            case UPSTREAM_PREFERRED -> ReadFrom.UPSTREAM_PREFERRED;
+            case REPLICA_PREFERRED -> ReadFrom.REPLICA_PREFERRED;
+            case LOWEST_LATENCY -> ReadFrom.LOWEST_LATENCY;
+        };
     }
 
     @Bean
@@ -49,8 +163,27 @@ public class RedisConfig {
 
     // ✅ 새로운 User 타입 RedisTemplate 추가 (UserService에서 사용 가능)
     @Bean
-    public ReactiveRedisTemplate<String, User> userReactiveRedisTemplate(ReactiveRedisConnectionFactory factory) {
-        Jackson2JsonRedisSerializer<User> serializer = new Jackson2JsonRedisSerializer<>(User.class);
+    @Primary
+    public ReactiveRedisTemplate<String, User> userReactiveRedisTemplate(ReactiveRedisConnectionFactory factory,
+                                                                        UserCacheProperties cacheProperties) {
+        return userTemplate(factory, cacheProperties);
+    }
+
+    // getUserById의 캐시 조회 전용 (replica에서 읽음, 쓰기에는 사용하지 않음)
+    @Bean
+    public ReactiveRedisTemplate<String, User> replicaUserRedisTemplate(
+            @Qualifier("replicaRedisConnectionFactory") ReactiveRedisConnectionFactory factory,
+            UserCacheProperties cacheProperties) {
+        return userTemplate(factory, cacheProperties);
+    }
+
+    private static ReactiveRedisTemplate<String, User> userTemplate(ReactiveRedisConnectionFactory factory,
+                                                                    UserCacheProperties cacheProperties) {
+        UserCacheProperties.Redis redisProperties = cacheProperties.getRedis();
+        RedisSerializer<User> serializer = switch (redisProperties.getSerializer()) {
+            case JSON -> new Jackson2JsonRedisSerializer<>(User.class);
+            case BINARY -> new UserBinaryRedisSerializer(redisProperties.getCompressionThreshold());
+        };
 
         return new ReactiveRedisTemplate<>(
                 factory,
@@ -62,4 +195,10 @@ public class RedisConfig {
         );
     }
 
+    // L1 캐시 무효화 pub/sub 등 문자열 값 전용 템플릿
+    @Bean
+    public ReactiveStringRedisTemplate reactiveStringRedisTemplate(ReactiveRedisConnectionFactory factory) {
+        return new ReactiveStringRedisTemplate(factory);
+    }
+
 }
@@ -0,0 +1,56 @@
+package com.mpole.reactiveapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+Redis 배포 형태(standalone/sentinel/cluster)와 Lettuce 클라이언트 설정입니다.
+STANDALONE 모드의 접속 정보는 기존대로 spring.redis.host/port/password를 사용합니다.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.redis")
+public class RedisTopologyProperties {
+
+    /** Redis 배포 형태 */
+    private Mode mode = Mode.STANDALONE;
+    /** CLUSTER: 시드 노드, SENTINEL: sentinel 노드 ("host:port") */
+    private List<String> nodes = new ArrayList<>();
+    /** SENTINEL 모드의 master 이름 */
+    private String sentinelMaster = "mymaster";
+    /** replica 조회용 연결(getUserById 캐시 조회)이 읽을 노드 (SENTINEL/CLUSTER 모드에만 적용, 그 밖의 읽기/쓰기는 master) */
+    private ReadPreference readFrom = ReadPreference.REPLICA_PREFERRED;
+    /** 응답이 없는 명령을 실패시키는 시간 (요청 경로의 시간 제한은 app.resilience.redis가 담당, 이 값은 마지막 안전장치) */
+    private Duration commandTimeout = Duration.ofSeconds(2);
+    /** CLUSTER 모드에서 MOVED/ASK 리다이렉트를 따라가는 최대 횟수 */
+    private int maxRedirects = 3;
+    /** CLUSTER 모드의 주기적 토폴로지 갱신 간격 (MOVED/재연결 등에 따른 즉시 갱신은 항상 켬) */
+    private Duration topologyRefreshPeriod = Duration.ofSeconds(30);
+    /** Lettuce I/O(Netty) 스레드 수, 0이면 CPU 코어 수 */
+    private int ioThreads = 0;
+    /** Lettuce 계산(이벤트/응답 발행) 스레드 수, 0이면 CPU 코어 수 */
+    private int computationThreads = 0;
+    /** true이면 응답을 I/O 스레드 대신 계산 스레드에서 발행 (구독자 처리가 I/O 스레드를 막지 않도록) */
+    private boolean publishOnScheduler = false;
+
+    public enum Mode {
+        STANDALONE,
+        SENTINEL,
+        CLUSTER
+    }
+
+    public enum ReadPreference {
+        /** 항상 master */
+        UPSTREAM,
+        /** master 우선, 없으면 replica */
+        UPSTREAM_PREFERRED,
+        /** replica 우선, 없으면 master */
+        REPLICA_PREFERRED,
+        /** 응답 시간이 가장 짧은 노드 */
+        LOWEST_LATENCY
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.mpole.reactiveapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/*
+외부 의존성(DB/Redis/Kafka) 호출별 시간 제한, circuit breaker, bulkhead 설정입니다.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.resilience")
+public class ResilienceProperties {
+
+    /** false이면 시간 제한/circuit breaker/bulkhead 없이 그대로 호출 */
+    private boolean enabled = true;
+    private Dependency db = new Dependency(Duration.ofSeconds(2), 100);
+    private Dependency redis = new Dependency(Duration.ofMillis(250), 512);
+    private Dependency kafka = new Dependency(Duration.ofSeconds(5), 256);
+
+    @Data
+    public static class Dependency {
+        /** 호출 하나의 최대 대기 시간, 넘으면 TimeoutException으로 실패 */
+        private Duration timeout;
+        /** 이 시간보다 오래 걸린 호출은 느린 호출로 집계 */
+        private Duration slowCallDuration;
+        /** 실패율(%)이 이 값 이상이면 회로를 엶 */
+        private float failureRateThreshold = 50;
+        /** 느린 호출 비율(%)이 이 값 이상이면 회로를 엶 */
+        private float slowCallRateThreshold = 80;
+        /** 실패율 계산에 쓰는 최근 호출 수 */
+        private int slidingWindowSize = 100;
+        /** 실패율을 계산하기 위한 최소 호출 수 */
+        private int minimumNumberOfCalls = 20;
+        /** 회로가 열린 뒤 시험 호출(half-open)을 시작할 때까지의 시간 */
+        private Duration waitInOpenState = Duration.ofSeconds(10);
+        /** half-open 상태에서 허용하는 시험 호출 수 */
+        private int permittedCallsInHalfOpenState = 10;
+        /** 동시에 진행할 수 있는 최대 호출 수, 초과하면 대기 없이 BulkheadFullException */
+        private int maxConcurrentCalls;
+
+        public Dependency() {
+            this(Duration.ofSeconds(1), 100);
+        }
+
+        public Dependency(Duration timeout, int maxConcurrentCalls) {
+            this.timeout = timeout;
+            this.slowCallDuration = timeout.dividedBy(2);
+            this.maxConcurrentCalls = maxConcurrentCalls;
+        }
+    }
+
+}
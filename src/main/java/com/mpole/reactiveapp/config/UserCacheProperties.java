@@ -0,0 +1,64 @@
+package com.mpole.reactiveapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/*
+사용자 캐시(L1 로컬 캐시 + Redis) 관련 설정입니다.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache")
+public class UserCacheProperties {
+
+    private Near near = new Near();
+    private Redis redis = new Redis();
+    private Warmup warmup = new Warmup();
+
+    @Data
+    public static class Near {
+        /** L1 로컬 캐시 사용 여부 */
+        private boolean enabled = true;
+        /** L1 캐시에 보관할 최대 사용자 수 */
+        private long maximumSize = 10_000;
+        /** L1 캐시 항목의 만료 시간 (쓰기 기준) */
+        private Duration ttl = Duration.ofSeconds(30);
+        /** 노드 간 L1 캐시 무효화에 사용하는 Redis pub/sub 채널 */
+        private String invalidationChannel = "user:invalidate";
+    }
+
+    @Data
+    public static class Redis {
+        /** "user:{id}" 값의 직렬화 방식 */
+        private Serializer serializer = Serializer.JSON;
+        /** BINARY 직렬화 시 Deflate 압축을 시도하는 최소 크기(바이트), 0이면 압축하지 않음 */
+        private int compressionThreshold = 512;
+        /** "user:{id}" 키의 기본 TTL */
+        private Duration ttl = Duration.ofHours(1);
+        /** TTL에 더하는 임의 시간의 최대값, 같은 시점에 채운 키가 한꺼번에 만료되지 않도록 분산 */
+        private Duration ttlJitter = Duration.ofMinutes(5);
+        /** XFetch 조기 갱신 계수, 클수록 만료 전에 일찍 갱신하며 0이면 조기 갱신하지 않음 */
+        private double earlyRefreshBeta = 1.0;
+    }
+
+    @Data
+    public static class Warmup {
+        /** 기동 시 최근 수정된 사용자를 Redis에 미리 채울지 여부 (완료 전까지 readiness는 OUT_OF_SERVICE) */
+        private boolean enabled = false;
+        /** 미리 채울 최대 사용자 수 (updated_at 최신순) */
+        private int size = 10_000;
+        /** 한 번에 Redis로 보내는 사용자 수 */
+        private int batchSize = 500;
+        /** 예열을 기다리는 최대 시간, 넘기면 예열을 멈추고 트래픽을 받음 */
+        private Duration timeout = Duration.ofSeconds(60);
+    }
+
+    public enum Serializer {
+        /** Jackson JSON (기존 방식) */
+        JSON,
+        /** 스키마 버전이 있는 바이너리 코덱 (UserBinaryRedisSerializer), 기존 JSON 값도 읽을 수 있음 */
+        BINARY
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.mpole.reactiveapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/*
+사용자 일괄 등록(import) 설정입니다.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.import")
+public class UserImportProperties {
+
+    /** 하나의 다중 행 INSERT로 저장하는 행 수 (청크 단위로 진행 상황과 요약 이벤트가 발행됨) */
+    private int chunkSize = 500;
+
+}
@@ -0,0 +1,22 @@
+package com.mpole.reactiveapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/*
+사용자 변경 이벤트 실시간 스트림(GET /users/stream, SSE) 설정입니다.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.user-stream")
+public class UserStreamProperties {
+
+    /** false이면 스트림용 Kafka 구독을 시작하지 않음 (구독자는 keepalive만 받음) */
+    private boolean enabled = true;
+    /** 구독자별 버퍼 크기, 가득 차면 가장 오래된 이벤트부터 버림 */
+    private int bufferSize = 256;
+    /** 프록시/로드밸런서가 유휴 연결을 끊지 않도록 보내는 SSE 주석 간격 */
+    private Duration heartbeat = Duration.ofSeconds(15);
+
+}
@@ -0,0 +1,33 @@
+package com.mpole.reactiveapp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/*
+WebFlux 코덱 설정입니다. JSON 외에 바이너리 형식인 CBOR(application/cbor)를 요청/응답 형식으로 추가합니다.
+Accept: application/cbor로 요청하면 CBOR로 응답하고, 그 외에는 지금처럼 JSON으로 응답합니다.
+CBOR ObjectMapper는 Spring Boot의 Jackson 설정(spring.jackson.*)을 그대로 따릅니다.
+스트리밍 응답(NDJSON, SSE)과 목록 조회는 produces로 형식을 정해 두었으므로 영향을 받지 않습니다.
+ */
+@Configuration
+public class WebCodecConfig implements WebFluxConfigurer {
+
+    private final ObjectMapper cborMapper;
+
+    public WebCodecConfig(Jackson2ObjectMapperBuilder jacksonBuilder) {
+        this.cborMapper = jacksonBuilder.createXmlMapper(false).factory(new CBORFactory()).build();
+    }
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        configurer.customCodecs().register(new Jackson2CborEncoder(cborMapper));
+        configurer.customCodecs().register(new Jackson2CborDecoder(cborMapper));
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.mpole.reactiveapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/*
+사용자 수정 write-behind 모드 설정입니다.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.write-behind")
+public class WriteBehindProperties {
+
+    /** write-behind 모드 사용 여부, false이면 updateUser가 DB에 바로 저장 */
+    private boolean enabled = false;
+    /** 버퍼의 수정 내용을 DB에 반영하는 주기 */
+    private Duration flushInterval = Duration.ofMillis(500);
+    /** 한 번의 UPDATE 문으로 반영하는 최대 사용자 수 */
+    private int batchSize = 500;
+    /** 버퍼에 보관하는 최대 사용자(ID) 수, 가득 차면 해당 수정은 DB에 바로 저장 */
+    private int maxPending = 100_000;
+    /** 반영 전 수정 내용의 내구성 수준 */
+    private Durability durability = Durability.REDIS_JOURNAL;
+    /** REDIS_JOURNAL 모드에서 반영 대기 중인 사용자 ID를 기록하는 Redis Set 키 접두사, 실제 키는 "{journalKey}:{instanceId}" */
+    private String journalKey = "user:dirty";
+    /** 저널을 구분하는 인스턴스 ID, 재시작해도 같은 값이어야 함 (예: StatefulSet 파드 이름) */
+    private String instanceId = "local";
+    /** 종료 시 남은 수정 내용을 반영할 때 기다리는 최대 시간 */
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+
+    public enum Durability {
+        /** 프로세스 메모리에만 보관, 정상 종료 시에는 반영되지만 비정상 종료 시 유실될 수 있음 */
+        MEMORY,
+        /** 대기 중인 ID를 Redis Set에 기록하고, 기동 시 남아 있는 ID를 Redis 값으로 다시 반영 */
+        REDIS_JOURNAL
+    }
+
+}
@@ -1,37 +1,197 @@
 package com.mpole.reactiveapp.controller;
 
+import com.mpole.reactiveapp.config.UserStreamProperties;
 import com.mpole.reactiveapp.model.User;
+import com.mpole.reactiveapp.model.UserEvent;
+import com.mpole.reactiveapp.model.UserImportProgress;
+import com.mpole.reactiveapp.service.UserImportService;
 import com.mpole.reactiveapp.service.UserService;
+import com.mpole.reactiveapp.stream.UserChangeStream;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
 @RestController
 @RequestMapping("/users")
 @RequiredArgsConstructor
 public class UserController {
 
+    // 일괄 조회 한 번에 허용하는 최대 ID 수
+    private static final int MAX_BATCH_SIZE = 1000;
+    // 목록 조회 기본/최대 페이지 크기
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final UserService userService;
+    private final UserImportService userImportService;
+    private final UserChangeStream userChangeStream;
+    private final UserStreamProperties streamProperties;
 
     @PostMapping
     public Mono<User> createUser(@RequestBody User user) {
         return userService.createUser(user);
     }
 
-    @GetMapping
-    public Flux<User> getAllUsers() {
-        return userService.getAllUsers();
+    /**
+     * 사용자 목록을 조회합니다.
+     * - Accept: application/x-ndjson → 전체 사용자를 청크 단위로 스트리밍 (클라이언트 backpressure 반영)
+     * - 그 외(application/json)       → after 커서 다음부터 size명을 담은 한 페이지
+     *   페이지가 가득 찼으면(다음 페이지가 있을 수 있으면) 다음 페이지 URL을 Link 헤더(rel="next")로 알려 줍니다.
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<User> getAllUsers(@RequestParam(defaultValue = "0") long after,
+                                  @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+                                  ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (MediaType.APPLICATION_NDJSON.isPresentIn(request.getHeaders().getAccept())) {
+            return userService.getAllUsers();
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "페이지 크기는 1 ~ " + MAX_PAGE_SIZE + " 사이여야 합니다."));
+        }
+        // 페이지는 최대 MAX_PAGE_SIZE명이므로 모아서 마지막 ID를 확인한 뒤 헤더와 함께 응답
+        return userService.getUsersPage(after, size)
+                .collectList()
+                .doOnNext(page -> {
+                    if (page.size() == size) {
+                        exchange.getResponse().getHeaders().add(HttpHeaders.LINK,
+                                nextPageLink(request, page.get(page.size() - 1).getId(), size));
+                    }
+                })
+                .flatMapIterable(page -> page);
+    }
+
+    // 현재 요청 URL의 after/size만 바꾼 다음 페이지 링크 (RFC 8288)
+    static String nextPageLink(ServerHttpRequest request, Long lastId, int size) {
+        String next = UriComponentsBuilder.fromUri(request.getURI())
+                .replaceQueryParam("after", lastId)
+                .replaceQueryParam("size", size)
+                .build()
+                .toUriString();
+        return "<" + next + ">; rel=\"next\"";
+    }
+
+    /**
+     * 이메일로 사용자를 조회합니다. (GET /users?email=...)
+     */
+    @GetMapping(params = "email")
+    public Mono<User> getUserByEmail(@RequestParam String email, ServerWebExchange exchange) {
+        return withETag(userService.getUserByEmail(email), exchange);
+    }
+
+    /**
+     * 사용자 생성/수정/삭제/일괄 등록 이벤트를 Server-Sent Events로 실시간 전송합니다.
+     * 이벤트 이름은 이벤트 종류(CREATED, UPDATED, DELETED, IMPORTED)이며, 연결 유지를 위해 주기적으로 주석을 보냅니다.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<UserEvent>> streamUserChanges() {
+        Flux<ServerSentEvent<UserEvent>> events = userChangeStream.subscribe()
+                .map(event -> ServerSentEvent.builder(event).event(event.getType().name()).build());
+        Flux<ServerSentEvent<UserEvent>> heartbeats = Flux.interval(streamProperties.getHeartbeat())
+                .map(tick -> ServerSentEvent.<UserEvent>builder().comment("keepalive").build());
+        return events.mergeWith(heartbeats);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<User> getUserById(@PathVariable Long id, ServerWebExchange exchange) {
+        return withETag(userService.getUserById(id), exchange);
     }
 
-//    @GetMapping("/{id}")
-//    public Mono<User> getUserById(@PathVariable Long id) {
-//        return userService.getUserById(id);
-//    }
+    /**
+     * 사용자 버전으로 ETag를 붙이고, 요청의 If-None-Match와 같으면 본문 없이 304 Not Modified로 응답합니다.
+     * JSON/CBOR 등 표현 형식만 다를 뿐 같은 내용이므로 약한(W/) ETag를 사용합니다.
+     */
+    private static Mono<User> withETag(Mono<User> user, ServerWebExchange exchange) {
+        return user.flatMap(found -> {
+            if (found.getVersion() == null) {
+                return Mono.just(found); // 버전 없이 캐시된 이전 형식의 값은 ETag 없이 응답
+            }
+            // 클라이언트가 보관하되 사용할 때마다 ETag로 재검증하도록 함
+            exchange.getResponse().getHeaders().setCacheControl(CacheControl.noCache());
+            return exchange.checkNotModified(etag(found)) ? Mono.empty() : Mono.just(found);
+        });
+    }
 
+    @PostMapping("/batch")
+    public Flux<User> getUsersByIds(@RequestBody List<Long> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "한 번에 조회할 수 있는 최대 ID 수는 " + MAX_BATCH_SIZE + "개입니다."));
+        }
+        return userService.getUsersByIds(ids);
+    }
+
+    /**
+     * NDJSON 본문(한 줄에 사용자 하나)으로 사용자를 일괄 등록하고, 청크별 진행 상황을 NDJSON으로 스트리밍합니다.
+     */
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<UserImportProgress> importUsersNdjson(@RequestBody Flux<String> lines) {
+        return userImportService.importNdjson(lines);
+    }
+
+    /**
+     * CSV 본문(name,email)으로 사용자를 일괄 등록하고, 청크별 진행 상황을 NDJSON으로 스트리밍합니다.
+     */
+    @PostMapping(path = "/import", consumes = "text/csv", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<UserImportProgress> importUsersCsv(@RequestBody Flux<String> lines) {
+        return userImportService.importCsv(lines);
+    }
+
+    /**
+     * 사용자를 수정합니다. If-Match에 조회 때 받은 ETag를 보내면 그 뒤로 다른 수정이 없었을 때만 반영하고,
+     * 그렇지 않으면 412로 응답합니다. If-Match가 없거나 "*"이면 조건 없이 수정합니다.
+     */
     @PutMapping("/{id}")
-    public Mono<User> updateUser(@PathVariable Long id, @RequestBody User updatedUser) {
-        return userService.updateUser(id, updatedUser);
+    public Mono<User> updateUser(@PathVariable Long id, @RequestBody User updatedUser,
+                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return userService.updateUser(id, updatedUser, expectedVersion(id, ifMatch));
+    }
+
+    private static String etag(User user) {
+        return "W/\"" + user.getId() + "-" + user.getVersion() + "\"";
+    }
+
+    // If-Match의 ETag(W/"{id}-{version}")에서 기대 버전을 꺼냄, 조건이 없으면 null
+    static Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        tag = tag.replace("\"", "");
+        int separator = tag.lastIndexOf('-');
+        try {
+            if (separator > 0 && Long.parseLong(tag.substring(0, separator)) == id) {
+                return Long.parseLong(tag.substring(separator + 1));
+            }
+        } catch (NumberFormatException ignored) {
+            // 이 서버가 발급하지 않은 ETag
+        }
+        throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "If-Match가 이 사용자의 ETag가 아닙니다.");
     }
 
     @DeleteMapping("/{id}")
@@ -39,4 +199,33 @@ public class UserController {
         return userService.deleteUser(id);
     }
 
+    /**
+     * If-Match로 보낸 버전 이후에 다른 수정이 있었으면 412로 응답합니다. 클라이언트는 다시 조회한 뒤 수정합니다.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Void> handleVersionConflict(OptimisticLockingFailureException e) {
+        log.debug("사용자 버전 불일치로 수정을 거절합니다: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+    }
+
+    /**
+     * 이미 다른 사용자가 쓰고 있는 이메일로 등록/수정하면(uk_users_email 위반) 409로 응답합니다.
+     */
+    @ExceptionHandler(DuplicateKeyException.class)
+    public ResponseEntity<Void> handleDuplicateEmail(DuplicateKeyException e) {
+        log.debug("이미 사용 중인 이메일로 요청을 거절합니다: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    /**
+     * 의존성(DB 등)이 시간 초과, 회로 열림, 동시 호출 한도 초과로 실패하면 기다리게 하지 않고 503으로 응답합니다.
+     */
+    @ExceptionHandler({TimeoutException.class, CallNotPermittedException.class, BulkheadFullException.class})
+    public ResponseEntity<Void> handleDependencyUnavailable(Exception e) {
+        log.debug("의존성 사용 불가로 요청을 거절합니다: {}", e.toString());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
+    }
+
 }
@@ -1,43 +1,56 @@
 package com.mpole.reactiveapp.db;
 
-import org.springframework.boot.ApplicationArguments;
-import org.springframework.boot.ApplicationRunner;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.nio.charset.StandardCharsets;
 
+/*
+db/create_tables.sql의 스키마를 적용합니다. 실행 시점과 재시도는 StartupCoordinator가 관리합니다.
+스크립트는 InputStream으로 읽으므로 fat jar나 네이티브 이미지 안의 리소스도 읽을 수 있습니다.
+ */
+@Slf4j
 @Component
-public class DatabaseInitializer implements ApplicationRunner {
+public class DatabaseInitializer {
+
+    private static final String SCHEMA_FILE = "classpath:db/create_tables.sql";
 
     private final DatabaseClient databaseClient;
     private final ResourceLoader resourceLoader;
+    private final Scheduler blockingScheduler;
 
-    public DatabaseInitializer(DatabaseClient databaseClient, ResourceLoader resourceLoader) {
+    public DatabaseInitializer(DatabaseClient databaseClient, ResourceLoader resourceLoader, Scheduler blockingScheduler) {
         this.databaseClient = databaseClient;
         this.resourceLoader = resourceLoader;
+        this.blockingScheduler = blockingScheduler;
     }
 
-    @Override
-    public void run(ApplicationArguments args) throws Exception {
-        executeSqlFromFile("classpath:db/create_tables.sql")
-                .doOnError(e -> System.err.println("Error executing SQL file: " + e.getMessage()))
-                .subscribe();
+    /**
+     * 스키마 SQL을 문장 단위로 순서대로 실행합니다.
+     *
+     * @return 모든 문장이 실행되면 완료되는 Mono
+     */
+    public Mono<Void> initialize() {
+        return executeSqlFromFile(SCHEMA_FILE)
+                .doOnError(e -> log.error("스키마 SQL 실행 실패: file={}", SCHEMA_FILE, e));
     }
 
     private Mono<Void> executeSqlFromFile(String filePath) {
-        try {
-            Resource resource = resourceLoader.getResource(filePath);
-            String sql = Files.readString(Paths.get(resource.getURI()));
-            return databaseClient.sql(sql)
-                    .then(); // 쿼리 실행 후 완료를 나타내기 위해 'then()' 사용
-        } catch (Exception e) {
-            return Mono.error(e);
-        }
+        Resource resource = resourceLoader.getResource(filePath);
+        return Mono.fromCallable(() -> resource.getContentAsString(StandardCharsets.UTF_8))
+                .subscribeOn(blockingScheduler) // 리소스 읽기는 블로킹 I/O
+                // 드라이버가 다중 쿼리를 허용하지 않으므로 문장 단위로 순서대로 실행
+                .flatMapMany(sql -> Flux.fromArray(sql.split(";")))
+                .map(String::trim)
+                .filter(statement -> !statement.isEmpty())
+                .concatMap(statement -> databaseClient.sql(statement).then())
+                .then(); // 쿼리 실행 후 완료를 나타내기 위해 'then()' 사용
     }
 
 }
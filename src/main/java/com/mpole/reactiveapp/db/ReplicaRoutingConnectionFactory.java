@@ -0,0 +1,54 @@
+package com.mpole.reactiveapp.db;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.r2dbc.connection.lookup.AbstractRoutingConnectionFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/*
+Reactor Context의 읽기 전용 표시에 따라 primary 또는 replica 커넥션 팩토리로 라우팅합니다.
+- readOnly(...)로 감싼 조회만 replica로 가고, 그 외(쓰기, 표시 없는 조회)는 primary로 갑니다.
+- 트랜잭션 안에서는 트랜잭션이 이미 잡은 primary 커넥션을 계속 사용하므로 readOnly 표시가 있어도 primary에서 실행됩니다.
+- replica는 복제 지연이 있으므로, 쓰기 직후 반드시 최신 값을 읽어야 하는 조회와 캐시를 채우는 조회에는 사용하지 않습니다.
+  (낡은 값이 캐시되면 TTL 동안 계속 응답되므로, readOnly는 캐시하지 않는 목록/스트림 조회에만 사용)
+ */
+public class ReplicaRoutingConnectionFactory extends AbstractRoutingConnectionFactory {
+
+    private static final String READ_ONLY_KEY = ReplicaRoutingConnectionFactory.class.getName() + ".READ_ONLY";
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    public ReplicaRoutingConnectionFactory(ConnectionFactory primary, ConnectionFactory replica) {
+        setTargetConnectionFactories(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetConnectionFactory(primary);
+    }
+
+    /**
+     * 조회를 replica로 보내도록 표시합니다. replica가 설정되지 않은 경우에는 아무 영향이 없습니다.
+     *
+     * @param query 읽기 전용 조회
+     * @return Reactor Context에 읽기 전용 표시가 추가된 Mono
+     */
+    public static <T> Mono<T> readOnly(Mono<T> query) {
+        return query.contextWrite(context -> context.put(READ_ONLY_KEY, true));
+    }
+
+    /**
+     * 조회를 replica로 보내도록 표시합니다. replica가 설정되지 않은 경우에는 아무 영향이 없습니다.
+     *
+     * @param query 읽기 전용 조회
+     * @return Reactor Context에 읽기 전용 표시가 추가된 Flux
+     */
+    public static <T> Flux<T> readOnly(Flux<T> query) {
+        return query.contextWrite(context -> context.put(READ_ONLY_KEY, true));
+    }
+
+    @Override
+    protected Mono<Object> determineCurrentLookupKey() {
+        return Mono.deferContextual(context ->
+                Mono.just(context.getOrDefault(READ_ONLY_KEY, false) ? REPLICA : PRIMARY));
+    }
+
+}
@@ -1,19 +1,162 @@
 package com.mpole.reactiveapp.kafka;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mpole.reactiveapp.cache.UserNearCache;
+import com.mpole.reactiveapp.config.KafkaConsumerProperties;
+import com.mpole.reactiveapp.model.User;
+import com.mpole.reactiveapp.model.UserEvent;
+import com.mpole.reactiveapp.resilience.DependencyGuards;
+import com.mpole.reactiveapp.stream.UserChangeStream;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static com.mpole.reactiveapp.metrics.DependencyMetrics.REDIS;
 
 /*
 Kafka 컨슈머를 구현하여 Kafka에서 메시지를 읽고 처리합니다.
+poll 단위의 배치를 받아 키(사용자 ID)별로 묶고, 키 그룹은 병렬로 처리하되 같은 키의 이벤트는 순서대로 처리합니다.
+배치 전체가 처리된 뒤 오프셋을 한 번만 커밋하며, 처리 중 오류가 나면 커밋하지 않고 컨테이너의 에러 핸들러가 배치를 재시도합니다.
+Redis 호출은 의존성 보호(DependencyGuards)를 거치고, 배치 전체는 batchTimeout 안에 끝나지 않으면 실패하므로 리스너 스레드가 무한정 멈추지 않습니다.
+
+이벤트 처리:
+- UPDATED / DELETED : Redis의 "user:{id}"와 모든 노드의 L1 캐시를 무효화 (다음 조회 시 DB에서 다시 적재)
+- CREATED / IMPORTED: 생성한 노드가 이미 캐시를 채웠으므로 처리하지 않음
+
+실시간 스트림(stream): 노드마다 고유한 컨슈머 그룹으로 user-topic을 한 번 더 구독하여 모든 이벤트를 UserChangeStream으로 넘깁니다.
+캐시 무효화 그룹(group_id)은 파티션을 노드끼리 나누어 받으므로 스트림은 별도 그룹이 필요합니다.
+구독 시작 위치는 최신(latest)이며, 오프셋은 커밋하지 않습니다. (재시작 후 지난 이벤트를 다시 보내지 않음)
+
+메트릭:
+- user.consumer.batch         : 배치 처리 시간
+- user.consumer.records       : 처리한 레코드 수
+- user.consumer.lag{partition}: 배치 처리 직후의 파티션별 컨슈머 lag
  */
 @Slf4j
 @Service
 public class KafkaConsumerService {
 
-    @KafkaListener(topics = "user-topic", groupId = "group_id")
-    public void consume(String message) {
-        log.info("Received message: {}", message);
+    private final ReactiveRedisTemplate<String, User> redisTemplate;
+    private final UserNearCache nearCache;
+    private final ObjectMapper objectMapper;
+    private final KafkaConsumerProperties properties;
+    private final UserChangeStream changeStream;
+    private final DependencyGuards guards;
+    private final MeterRegistry meterRegistry;
+    private final Timer batchTimer;
+    private final Counter records;
+    private final Map<TopicPartition, AtomicLong> lags = new ConcurrentHashMap<>();
+
+    public KafkaConsumerService(ReactiveRedisTemplate<String, User> redisTemplate,
+                                UserNearCache nearCache,
+                                ObjectMapper objectMapper,
+                                KafkaConsumerProperties properties,
+                                UserChangeStream changeStream,
+                                DependencyGuards guards,
+                                MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.nearCache = nearCache;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.changeStream = changeStream;
+        this.guards = guards;
+        this.meterRegistry = meterRegistry;
+        this.batchTimer = Timer.builder("user.consumer.batch").register(meterRegistry);
+        this.records = Counter.builder("user.consumer.records").register(meterRegistry);
+    }
+
+    @KafkaListener(topics = "user-topic", groupId = "group_id", batch = "true")
+    public void consume(List<ConsumerRecord<String, String>> batch, Acknowledgment acknowledgment, Consumer<?, ?> consumer) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        // 리스너 스레드는 이벤트 루프가 아니므로 배치 처리가 끝날 때까지 기다린 뒤 커밋
+        processBatch(batch).block(properties.getBatchTimeout());
+        acknowledgment.acknowledge();
+        sample.stop(batchTimer);
+        records.increment(batch.size());
+        recordLag(batch, consumer);
+        log.debug("Kafka 배치 처리 완료: {}건", batch.size());
+    }
+
+    @KafkaListener(topics = "user-topic", groupId = "user-stream-${random.uuid}", batch = "true",
+            autoStartup = "${app.user-stream.enabled:true}", properties = "auto.offset.reset=latest")
+    public void stream(List<ConsumerRecord<String, String>> batch) {
+        // 실시간 알림만 전달하므로 오프셋은 커밋(acknowledge)하지 않음
+        for (ConsumerRecord<String, String> record : batch) {
+            parse(record).ifPresent(changeStream::publish);
+        }
+    }
+
+    Mono<Void> processBatch(List<ConsumerRecord<String, String>> batch) {
+        // 키별로 묶되 배치 내 순서는 유지 (키가 없는 레코드는 하나의 그룹으로 순서대로 처리)
+        Map<String, List<ConsumerRecord<String, String>>> byKey = batch.stream()
+                .collect(Collectors.groupingBy(record -> Objects.toString(record.key(), ""),
+                        LinkedHashMap::new, Collectors.toList()));
+        return Flux.fromIterable(byKey.values())
+                .flatMap(group -> Flux.fromIterable(group).concatMap(this::process), properties.getParallelism())
+                .then();
+    }
+
+    private Mono<Void> process(ConsumerRecord<String, String> record) {
+        UserEvent event = parse(record).orElse(null);
+        if (event == null || event.getUserId() == null) {
+            return Mono.empty();
+        }
+        return switch (event.getType()) {
+            case UPDATED, DELETED -> guards.guard(REDIS, redisTemplate.opsForValue().delete("user:" + event.getUserId()))
+                    .then(guards.guard(REDIS, nearCache.invalidate(event.getUserId())));
+            case CREATED, IMPORTED -> Mono.empty();
+        };
+    }
+
+    private Optional<UserEvent> parse(ConsumerRecord<String, String> record) {
+        try {
+            UserEvent event = objectMapper.readValue(record.value(), UserEvent.class);
+            return event.getType() != null ? Optional.of(event) : Optional.empty();
+        } catch (JsonProcessingException e) {
+            // 재시도해도 처리할 수 없는 메시지는 건너뜀
+            log.warn("처리할 수 없는 메시지를 건너뜁니다: partition={}, offset={}", record.partition(), record.offset());
+            return Optional.empty();
+        }
+    }
+
+    private void recordLag(List<ConsumerRecord<String, String>> batch, Consumer<?, ?> consumer) {
+        batch.stream()
+                .map(record -> new TopicPartition(record.topic(), record.partition()))
+                .distinct()
+                .forEach(partition -> consumer.currentLag(partition)
+                        .ifPresent(lag -> lagGauge(partition).set(lag)));
+    }
+
+    private AtomicLong lagGauge(TopicPartition partition) {
+        return lags.computeIfAbsent(partition, p -> {
+            AtomicLong lag = new AtomicLong();
+            Gauge.builder("user.consumer.lag", lag, AtomicLong::get)
+                    .tag("topic", p.topic())
+                    .tag("partition", String.valueOf(p.partition()))
+                    .register(meterRegistry);
+            return lag;
+        });
     }
 
 }
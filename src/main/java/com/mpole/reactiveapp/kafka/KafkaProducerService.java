@@ -1,23 +1,70 @@
 package com.mpole.reactiveapp.kafka;
 
-import lombok.RequiredArgsConstructor;
+import com.mpole.reactiveapp.metrics.DependencyMetrics;
+import com.mpole.reactiveapp.resilience.DependencyGuards;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 /*
 Kafka 프로듀서를 구현하여 메시지를 Kafka 토픽에 전송합니다.
+메시지 키로 사용자 ID를 사용하여 같은 사용자의 이벤트가 같은 파티션에 순서대로 쌓이도록 합니다.
+사용자 이벤트는 아웃박스 릴레이(UserOutboxRelay)만 발행하며, 브로커 ack를 받은 뒤에만 아웃박스 레코드를 지우므로
+전송은 항상 KafkaTemplate.send가 반환하는 CompletableFuture를 구독하여 브로커 결과를 기다립니다.
+전송은 DependencyGuards(시간 제한, bulkhead, circuit breaker)를 거치므로 브로커 장애 시 정해진 시간 안에 실패하고,
+회로가 열린 동안에는 브로커를 기다리지 않고 바로 실패합니다. (아웃박스 이벤트는 남아 있다가 회복 후 발행됨)
+KafkaTemplate.send는 메타데이터가 없거나 프로듀서 버퍼가 가득 차면 max.block.ms까지 블로킹하므로
+전송 호출은 블로킹 호출용 스케줄러(app.blocking.mode)에서 실행합니다.
  */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class KafkaProducerService {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
     private static final String TOPIC = "user-topic";
 
-    public Mono<Void> sendMessage(String message) {
-        return Mono.fromRunnable(() -> kafkaTemplate.send(TOPIC, message))
-                .doOnNext(result -> System.out.println("🔹 Kafka 메시지 전송 완료: " + message))
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final DependencyMetrics metrics;
+    private final DependencyGuards guards;
+    private final Scheduler blockingScheduler;
+
+    public KafkaProducerService(KafkaTemplate<String, String> kafkaTemplate,
+                                DependencyGuards guards,
+                                Scheduler blockingScheduler,
+                                MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.metrics = new DependencyMetrics(meterRegistry);
+        this.guards = guards;
+        this.blockingScheduler = blockingScheduler;
+    }
+
+    /**
+     * 메시지를 전송하고 브로커의 전송 결과를 반환합니다.
+     *
+     * @param key     파티션 결정에 사용할 키 (사용자 ID)
+     * @param message 전송할 메시지
+     * @return 브로커가 기록한 파티션/오프셋 정보를 포함하는 Mono
+     */
+    public Mono<SendResult<String, String>> send(String key, String message) {
+        return metrics.timed(DependencyMetrics.KAFKA, "send",
+                        guards.guard(DependencyMetrics.KAFKA, Mono.fromFuture(() -> kafkaTemplate.send(TOPIC, key, message))
+                                .subscribeOn(blockingScheduler)))
+                .doOnNext(result -> log.debug("Kafka 메시지 전송 완료: partition={}, offset={}, message={}",
+                        result.getRecordMetadata().partition(), result.getRecordMetadata().offset(), message));
+    }
+
+    /**
+     * 프로듀서 생성과 토픽 메타데이터 조회를 미리 수행합니다. (첫 전송이 브로커 연결과 메타데이터 조회를 기다리지 않도록)
+     *
+     * @return 메타데이터 조회가 끝나면 완료되는 Mono
+     */
+    public Mono<Void> warmUp() {
+        return Mono.fromCallable(() -> kafkaTemplate.partitionsFor(TOPIC))
+                .subscribeOn(blockingScheduler) // partitionsFor는 메타데이터를 받을 때까지 블로킹
+                .doOnNext(partitions -> log.info("Kafka 프로듀서 준비 완료: topic={}, partitions={}", TOPIC, partitions.size()))
                 .then();
     }
 
@@ -0,0 +1,79 @@
+package com.mpole.reactiveapp.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+요청 안에서 외부 의존성(DB/Redis/Kafka)을 호출하는 구간별 지연 시간을 기록합니다.
+
+메트릭:
+- user.dependency{dependency=db|redis|kafka, operation, outcome=success|error|cancelled}
+  구독 시점부터 완료/오류/취소까지의 시간, Prometheus 히스토그램 버킷을 함께 노출하여
+  histogram_quantile로 의존성별 p99를 비교할 수 있습니다.
+ */
+public class DependencyMetrics {
+
+    public static final String DB = "db";
+    public static final String REDIS = "redis";
+    public static final String KAFKA = "kafka";
+
+    private final MeterRegistry meterRegistry;
+    // 같은 태그 조합의 Timer 조회 비용을 줄이기 위한 캐시
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public DependencyMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Mono를 구독해서 끝날 때까지의 시간을 기록합니다.
+     *
+     * @param dependency 의존성 (db, redis, kafka)
+     * @param operation  호출 종류 (예: findById, get, send)
+     * @param source     측정할 호출
+     * @return 측정이 추가된 Mono
+     */
+    public <T> Mono<T> timed(String dependency, String operation, Mono<T> source) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return source.doFinally(signal -> sample.stop(timer(dependency, operation, signal)));
+        });
+    }
+
+    /**
+     * Flux를 구독해서 끝날 때까지의 시간을 기록합니다.
+     *
+     * @param dependency 의존성 (db, redis, kafka)
+     * @param operation  호출 종류 (예: findByIdIn)
+     * @param source     측정할 호출
+     * @return 측정이 추가된 Flux
+     */
+    public <T> Flux<T> timed(String dependency, String operation, Flux<T> source) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return source.doFinally(signal -> sample.stop(timer(dependency, operation, signal)));
+        });
+    }
+
+    private Timer timer(String dependency, String operation, SignalType signal) {
+        String outcome = switch (signal) {
+            case ON_ERROR -> "error";
+            case CANCEL -> "cancelled";
+            default -> "success";
+        };
+        return timers.computeIfAbsent(dependency + '.' + operation + '.' + outcome, key -> Timer.builder("user.dependency")
+                .description("요청 처리 중 외부 의존성 호출 시간")
+                .tag("dependency", dependency)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+}
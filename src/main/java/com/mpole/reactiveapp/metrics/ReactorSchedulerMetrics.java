@@ -0,0 +1,54 @@
+package com.mpole.reactiveapp.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+import reactor.core.Scannable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+
+/*
+Reactor 공용 스케줄러와 블로킹 호출용 스케줄러(blockingScheduler)의 상태를 게이지로 노출합니다. (Scannable 조회)
+
+메트릭:
+- reactor.scheduler.buffered{scheduler} : 스케줄러가 보고하는 대기/사용 중 작업 수 (boundedElastic은 사용 중인 워커 수,
+                                          blocking의 가상 스레드 모드는 실행 중인 작업 수)
+- reactor.scheduler.capacity{scheduler} : 스케줄러의 최대 워커(스레드) 수 (가상 스레드 모드는 상한이 없어 NaN)
+scheduler 태그: boundedElastic, parallel, blocking (app.blocking.mode=bounded-elastic이면 blocking은 boundedElastic과 같은 값)
+ */
+@Component
+public class ReactorSchedulerMetrics implements MeterBinder {
+
+    private final Scheduler blockingScheduler;
+
+    public ReactorSchedulerMetrics(Scheduler blockingScheduler) {
+        this.blockingScheduler = blockingScheduler;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Map<String, Scheduler> schedulers = Map.of(
+                "boundedElastic", Schedulers.boundedElastic(),
+                "parallel", Schedulers.parallel(),
+                "blocking", blockingScheduler);
+        schedulers.forEach((name, scheduler) -> {
+            Gauge.builder("reactor.scheduler.buffered", scheduler, s -> scan(s, Scannable.Attr.BUFFERED))
+                    .description("스케줄러에 쌓여 있거나 실행 중인 작업 수")
+                    .tag("scheduler", name)
+                    .register(registry);
+            Gauge.builder("reactor.scheduler.capacity", scheduler, s -> scan(s, Scannable.Attr.CAPACITY))
+                    .description("스케줄러의 최대 워커 수")
+                    .tag("scheduler", name)
+                    .register(registry);
+        });
+    }
+
+    private static double scan(Scheduler scheduler, Scannable.Attr<Integer> attr) {
+        Integer value = Scannable.from(scheduler).scan(attr);
+        return value != null ? value : Double.NaN;
+    }
+
+}
@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Table;
 
 @Data
@@ -15,4 +16,11 @@ public class User {
     private Long id;
     private String name;
     private String email;
+    // 수정할 때마다 1씩 증가 (낙관적 잠금, ETag)
+    @Version
+    private Long version;
+
+    public User(Long id, String name, String email) {
+        this(id, name, email, null);
+    }
 }
@@ -0,0 +1,32 @@
+package com.mpole.reactiveapp.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/*
+user-topic으로 발행되는 사용자 변경 이벤트입니다. (JSON 직렬화, 키는 사용자 ID)
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserEvent {
+    private UserEventType type;
+    private Long userId;
+    private String name;
+    private String email;
+    /** IMPORTED 요약 이벤트에 포함된 사용자 ID 목록 */
+    private List<Long> userIds;
+
+    public static UserEvent of(UserEventType type, User user) {
+        return new UserEvent(type, user.getId(), user.getName(), user.getEmail(), null);
+    }
+
+    public static UserEvent imported(List<Long> userIds) {
+        return new UserEvent(UserEventType.IMPORTED, null, null, null, userIds);
+    }
+}
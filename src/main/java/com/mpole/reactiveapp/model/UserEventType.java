@@ -0,0 +1,12 @@
+package com.mpole.reactiveapp.model;
+
+/*
+user-topic으로 발행되는 사용자 변경 이벤트의 종류입니다.
+ */
+public enum UserEventType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    /** 일괄 등록된 사용자 묶음(청크)에 대한 요약 이벤트 */
+    IMPORTED
+}
@@ -0,0 +1,33 @@
+package com.mpole.reactiveapp.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/*
+사용자 일괄 등록 시 청크 단위로 스트리밍되는 진행 상황입니다.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserImportProgress {
+    /** 청크 번호 (1부터 시작) */
+    private long chunk;
+    /** 지금까지 읽은 전체 행 수 */
+    private long processedRows;
+    /** 지금까지 저장된 전체 행 수 */
+    private long insertedRows;
+    /** 이번 청크에서 저장되지 않은 행과 사유 */
+    private List<RowFailure> failures;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RowFailure {
+        /** 요청 본문에서의 줄 번호 (1부터 시작) */
+        private long line;
+        private String reason;
+    }
+}
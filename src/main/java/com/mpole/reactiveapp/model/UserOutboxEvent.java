@@ -0,0 +1,25 @@
+package com.mpole.reactiveapp.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/*
+사용자 변경과 같은 트랜잭션에서 기록되고, UserOutboxRelay가 user-topic으로 발행한 뒤 삭제하는 아웃박스 레코드입니다.
+ */
+@Data
+@Table("user_outbox")
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserOutboxEvent {
+    @Id
+    private Long id;
+    private Long aggregateId;
+    private String eventType;
+    private String payload;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,56 @@
+package com.mpole.reactiveapp.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mpole.reactiveapp.model.User;
+import com.mpole.reactiveapp.model.UserEvent;
+import com.mpole.reactiveapp.model.UserEventType;
+import com.mpole.reactiveapp.model.UserOutboxEvent;
+import com.mpole.reactiveapp.repository.UserOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/*
+사용자 변경 이벤트를 아웃박스 테이블에 기록합니다.
+호출하는 쪽의 R2DBC 트랜잭션 안에서 구독해야 사용자 변경과 원자적으로 기록됩니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserOutbox {
+
+    private final UserOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 사용자 변경 이벤트를 아웃박스에 기록합니다.
+     *
+     * @param type 이벤트 종류
+     * @param user 변경된 사용자
+     * @return 기록 완료를 나타내는 Mono
+     */
+    public Mono<Void> append(UserEventType type, User user) {
+        return Mono.fromCallable(() -> objectMapper.writeValueAsString(UserEvent.of(type, user)))
+                .map(payload -> new UserOutboxEvent(null, user.getId(), type.name(), payload, LocalDateTime.now()))
+                .flatMap(outboxRepository::save)
+                .then();
+    }
+
+    /**
+     * 일괄 등록된 사용자 묶음에 대한 요약 이벤트를 하나 기록합니다.
+     * 파티션 키로는 묶음의 첫 사용자 ID를 사용합니다.
+     *
+     * @param userIds 등록된 사용자 ID 목록 (비어 있지 않아야 함)
+     * @return 기록 완료를 나타내는 Mono
+     */
+    public Mono<Void> appendImported(List<Long> userIds) {
+        return Mono.fromCallable(() -> objectMapper.writeValueAsString(UserEvent.imported(userIds)))
+                .map(payload -> new UserOutboxEvent(null, userIds.get(0), UserEventType.IMPORTED.name(), payload,
+                        LocalDateTime.now()))
+                .flatMap(outboxRepository::save)
+                .then();
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.mpole.reactiveapp.outbox;
+
+import com.mpole.reactiveapp.config.OutboxProperties;
+import com.mpole.reactiveapp.kafka.KafkaProducerService;
+import com.mpole.reactiveapp.model.UserOutboxEvent;
+import com.mpole.reactiveapp.repository.UserOutboxRepository;
+import com.mpole.reactiveapp.resilience.DependencyGuards;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.mpole.reactiveapp.metrics.DependencyMetrics.DB;
+
+/*
+아웃박스 테이블의 이벤트를 user-topic으로 배치 발행하는 백그라운드 릴레이입니다.
+배치는 SELECT ... FOR UPDATE SKIP LOCKED로 잠근 뒤(claim) 발행하고, 모든 전송이 브로커 ack를 받으면 같은 트랜잭션에서 삭제합니다.
+여러 인스턴스가 동시에 릴레이를 실행해도 다른 인스턴스가 잠근 행은 건너뛰므로 정상 상황에서는 이벤트가 한 번만 발행됩니다.
+
+남는 보장 수준은 at-least-once입니다.
+- 전송 후 커밋 전에 장애가 나거나 트랜잭션이 롤백되면 잠금이 풀리고, 같은 이벤트가 다시 발행될 수 있습니다. (컨슈머는 멱등하게 처리해야 함)
+- 인스턴스마다 서로 다른 배치를 동시에 발행하므로, 같은 사용자의 이벤트가 여러 배치에 걸치면 기록 순서와 다르게 도착할 수 있습니다.
+  (컨슈머는 이벤트의 버전/시각으로 오래된 이벤트를 걸러야 함)
+- 배치를 발행하는 동안 트랜잭션과 DB 연결을 하나 점유합니다.
+
+잠금 조회와 삭제는 DB 의존성 보호(DependencyGuards)를, 전송은 Kafka 의존성 보호를 거치므로
+DB나 브로커가 멈춰도 릴레이는 시간 제한 안에 실패하고 다음 주기에 다시 시도합니다.
+
+메트릭:
+- user.outbox.published   : 발행 완료된 이벤트 수
+- user.outbox.pending     : 마지막 조회 시점에 남아 있던 이벤트 수
+- user.outbox.lag         : 마지막 조회 시점의 가장 오래된 미발행 이벤트의 대기 시간
+ */
+@Slf4j
+@Component
+public class UserOutboxRelay {
+
+    private final UserOutboxRepository outboxRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final KafkaProducerService kafkaProducerService;
+    private final DependencyGuards guards;
+    private final OutboxProperties properties;
+    private final Counter published;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    private Disposable subscription;
+
+    public UserOutboxRelay(UserOutboxRepository outboxRepository,
+                           TransactionalOperator transactionalOperator,
+                           KafkaProducerService kafkaProducerService,
+                           DependencyGuards guards,
+                           OutboxProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.transactionalOperator = transactionalOperator;
+        this.kafkaProducerService = kafkaProducerService;
+        this.guards = guards;
+        this.properties = properties;
+        this.published = Counter.builder("user.outbox.published").register(meterRegistry);
+        Gauge.builder("user.outbox.pending", pending, AtomicLong::get).register(meterRegistry);
+        TimeGauge.builder("user.outbox.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get).register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.isRelayEnabled()) {
+            return;
+        }
+        subscription = Flux.interval(properties.getPollInterval())
+                .onBackpressureDrop() // 이전 주기가 끝나지 않았으면 이번 주기는 건너뜀
+                .concatMap(tick -> drain()
+                        .onErrorResume(e -> {
+                            log.warn("아웃박스 발행 실패, 다음 주기에 재시도합니다.", e);
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * 아웃박스가 빌 때까지(배치가 가득 차지 않을 때까지) 배치 단위로 발행합니다.
+     *
+     * @return 이번 주기에 발행한 이벤트 수
+     */
+    public Mono<Long> drain() {
+        return drainBatch()
+                .expand(count -> count == properties.getBatchSize() ? drainBatch() : Mono.empty())
+                .reduce(0L, Long::sum);
+    }
+
+    private Mono<Long> drainBatch() {
+        // 조회(잠금) → 발행 → 삭제를 하나의 트랜잭션으로 처리하여, 커밋 전까지 다른 인스턴스가 같은 행을 가져가지 않도록 함
+        return transactionalOperator.transactional(claimAndPublish());
+    }
+
+    private Mono<Long> claimAndPublish() {
+        return guards.guard(DB, outboxRepository.claimOldest(properties.getBatchSize()))
+                .collectList()
+                .flatMap(batch -> {
+                    updateLag(batch);
+                    if (batch.isEmpty()) {
+                        return Mono.just(0L);
+                    }
+                    List<Long> ids = batch.stream().map(UserOutboxEvent::getId).toList();
+                    // 전송 호출은 기록 순서대로, ack 대기는 maxInFlight개까지 동시에
+                    return Flux.fromIterable(batch)
+                            .flatMapSequential(event -> kafkaProducerService.send(
+                                    String.valueOf(event.getAggregateId()), event.getPayload()),
+                                    properties.getMaxInFlight())
+                            .then(Mono.defer(() -> guards.guard(DB, outboxRepository.deleteAllById(ids)))) // 모두 ack 받은 뒤에만 삭제
+                            .then(Mono.fromSupplier(() -> {
+                                published.increment(batch.size());
+                                return (long) batch.size();
+                            }));
+                });
+    }
+
+    private void updateLag(List<UserOutboxEvent> batch) {
+        if (batch.isEmpty()) {
+            pending.set(0);
+            lagMillis.set(0);
+            return;
+        }
+        // 배치가 가득 찼거나 다른 인스턴스가 잠근 행이 있으면 실제 대기 건수는 그 이상일 수 있음 (하한값)
+        pending.set(batch.size());
+        Duration lag = Duration.between(batch.get(0).getCreatedAt(), LocalDateTime.now());
+        lagMillis.set(Math.max(0, lag.toMillis()));
+    }
+
+}
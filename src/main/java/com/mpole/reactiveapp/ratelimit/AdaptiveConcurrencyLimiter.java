@@ -0,0 +1,105 @@
+package com.mpole.reactiveapp.ratelimit;
+
+import com.mpole.reactiveapp.config.RateLimitProperties;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+관측된 응답 시간으로 동시 처리 한도를 조절하는 limiter입니다. (Gradient 방식)
+- 단기 평균(최근 요청)과 장기 평균(기준) 응답 시간을 EWMA로 유지합니다.
+- gradient = clamp(tolerance × 장기 평균 / 단기 평균, 0.5, 1.0)
+  응답 시간이 기준보다 늘어나면(DB/Redis/Kafka 대기열이 쌓이면) gradient가 1보다 작아져 한도가 줄어듭니다.
+- 새 한도 = 한도 × gradient + √한도 (여유분), smoothing 비율로 반영하고 [minLimit, maxLimit]로 제한합니다.
+  한도를 절반 이상 사용 중일 때만 늘려, 부하가 낮을 때 한도가 끝없이 커지지 않도록 합니다.
+- 과부하 동안 밀려 올라간 기준은 부하가 줄어 단기 평균의 2배를 넘으면 조금씩 낮춰, 다음 과부하에도 민감하게 반응하도록 합니다.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    // 단기/장기 평균 EWMA 가중치 (약 10개 / 500개 표본)
+    private static final double SHORT_ALPHA = 2.0 / (10 + 1);
+    private static final double LONG_ALPHA = 2.0 / (500 + 1);
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+
+    private volatile double limit;
+    private double shortRtt;
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimiter(RateLimitProperties.Concurrency properties) {
+        this.minLimit = properties.getMinLimit();
+        this.maxLimit = properties.getMaxLimit();
+        this.tolerance = properties.getTolerance();
+        this.smoothing = properties.getSmoothing();
+        this.limit = properties.getInitialLimit();
+    }
+
+    /**
+     * 동시 처리 한도 안이면 요청 하나를 처리 중으로 등록합니다.
+     *
+     * @return 등록되었으면 true, 한도에 도달했으면 false (요청을 바로 거절해야 함)
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 처리가 끝난 요청을 해제하고 응답 시간을 한도 계산에 반영합니다.
+     *
+     * @param rttNanos 응답 시간(나노초)
+     */
+    public void release(long rttNanos) {
+        int current = inFlight.getAndDecrement();
+        onSample(rttNanos, current);
+    }
+
+    /**
+     * 응답 시간을 반영하지 않고 해제합니다. (클라이언트 취소 등 처리 시간이 의미 없는 경우)
+     */
+    public void releaseWithoutSample() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtRelease) {
+        rttNanos = Math.max(1, rttNanos);
+        if (longRtt == 0) {
+            shortRtt = rttNanos;
+            longRtt = rttNanos;
+            return;
+        }
+        shortRtt += SHORT_ALPHA * (rttNanos - shortRtt);
+        longRtt += LONG_ALPHA * (rttNanos - longRtt);
+        if (longRtt > shortRtt * 2) {
+            // 과부하 동안 밀려 올라간 기준을 부하가 줄어든 뒤 되돌림
+            longRtt *= 0.95;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        if (newLimit > limit && inFlightAtRelease < limit / 2) {
+            return; // 한도를 충분히 쓰지 않는 중에는 늘리지 않음
+        }
+        newLimit = limit * (1 - smoothing) + newLimit * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+}
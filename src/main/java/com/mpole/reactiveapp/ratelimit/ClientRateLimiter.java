@@ -0,0 +1,20 @@
+package com.mpole.reactiveapp.ratelimit;
+
+import reactor.core.publisher.Mono;
+
+/*
+클라이언트별 토큰 버킷 요청 제한입니다.
+- LocalTokenBucketRateLimiter : 노드 메모리 버킷
+- RedisTokenBucketRateLimiter : Redis에 저장해 모든 노드가 공유하는 버킷
+ */
+public interface ClientRateLimiter {
+
+    /**
+     * 클라이언트의 버킷에서 토큰 하나를 사용합니다.
+     *
+     * @param clientKey 클라이언트 식별자
+     * @return 토큰이 있어 요청을 허용하면 true, 없으면 false
+     */
+    Mono<Boolean> tryConsume(String clientKey);
+
+}
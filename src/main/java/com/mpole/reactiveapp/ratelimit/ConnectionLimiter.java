@@ -0,0 +1,53 @@
+package com.mpole.reactiveapp.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+HTTP 서버의 동시 연결 수 한도입니다. 연결이 열릴 때 tryAcquire, 닫힐 때 release를 호출합니다.
+한도를 넘는 연결은 요청을 읽기 전에 닫으므로, 연결 폭주 시에도 연결당 버퍼/이벤트 루프 작업이 한도 안에서 유지됩니다.
+ */
+public class ConnectionLimiter {
+
+    private final AtomicInteger open = new AtomicInteger();
+    private final int maxConnections;
+
+    /**
+     * @param maxConnections 동시 연결 수 한도, 0 이하이면 제한 없음
+     */
+    public ConnectionLimiter(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    /**
+     * 연결 하나를 받을 수 있으면 열린 연결 수를 늘립니다.
+     *
+     * @return 받을 수 있으면 true, 한도에 도달했으면 false
+     */
+    public boolean tryAcquire() {
+        if (maxConnections <= 0) {
+            open.incrementAndGet();
+            return true;
+        }
+        while (true) {
+            int current = open.get();
+            if (current >= maxConnections) {
+                return false;
+            }
+            if (open.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * tryAcquire로 받은 연결이 닫혔을 때 호출합니다.
+     */
+    public void release() {
+        open.decrementAndGet();
+    }
+
+    public int getOpenConnections() {
+        return open.get();
+    }
+
+}
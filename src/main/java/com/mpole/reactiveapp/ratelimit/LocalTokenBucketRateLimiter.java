@@ -0,0 +1,63 @@
+package com.mpole.reactiveapp.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mpole.reactiveapp.config.RateLimitProperties;
+import reactor.core.publisher.Mono;
+
+import java.util.function.LongSupplier;
+
+/*
+노드 메모리에 클라이언트별 토큰 버킷을 보관합니다.
+버킷은 maxClients개까지 보관하며 idleTimeout 동안 요청이 없으면 정리됩니다.
+노드마다 따로 세므로 전체 허용량은 노드 수만큼 늘어납니다. (노드 간 공유가 필요하면 REDIS 모드)
+ */
+public class LocalTokenBucketRateLimiter implements ClientRateLimiter {
+
+    private final Cache<String, TokenBucket> buckets;
+    private final int capacity;
+    private final double refillPerNano;
+    private final LongSupplier nanoClock;
+
+    public LocalTokenBucketRateLimiter(RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    LocalTokenBucketRateLimiter(RateLimitProperties properties, LongSupplier nanoClock) {
+        this.capacity = properties.getCapacity();
+        this.refillPerNano = properties.getRefillPerSecond() / 1_000_000_000d;
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxClients())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+    }
+
+    @Override
+    public Mono<Boolean> tryConsume(String clientKey) {
+        return Mono.fromSupplier(() -> buckets.get(clientKey, key -> new TokenBucket(capacity, nanoClock.getAsLong()))
+                .tryConsume(nanoClock.getAsLong()));
+    }
+
+    private final class TokenBucket {
+        private double tokens;
+        private long lastRefillNanos;
+
+        private TokenBucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.lastRefillNanos = now;
+        }
+
+        synchronized boolean tryConsume(long now) {
+            // 마지막 사용 이후 경과 시간만큼 채움 (버킷 크기를 넘지 않음)
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * refillPerNano);
+            lastRefillNanos = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.mpole.reactiveapp.ratelimit;
+
+import com.mpole.reactiveapp.config.RateLimitProperties;
+import com.mpole.reactiveapp.resilience.DependencyGuards;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static com.mpole.reactiveapp.metrics.DependencyMetrics.REDIS;
+
+/*
+Redis에 클라이언트별 토큰 버킷("{redisKeyPrefix}{clientKey}" 해시)을 저장해 모든 노드가 같은 한도를 공유합니다.
+채움 계산과 차감은 Lua 스크립트 한 번(왕복 1회)으로 원자적으로 처리하며, 시간은 Redis 서버 시계(TIME)를 사용해
+노드 간 시계 차이의 영향을 받지 않습니다. 요청이 없는 버킷은 idleTimeout 뒤에 만료됩니다.
+스크립트 호출은 Redis 의존성 보호(DependencyGuards)를 거치므로 Redis가 멈춰도 시간 제한 안에 실패하고, 필터가 요청을 허용합니다. (fail-open)
+ */
+public class RedisTokenBucketRateLimiter implements ClientRateLimiter {
+
+    // KEYS[1]: 버킷 키, ARGV: 버킷 크기, 초당 채움 수, 만료(ms) → 허용 1 / 거절 0
+    private static final RedisScript<Long> TOKEN_BUCKET = RedisScript.of("""
+            local capacity = tonumber(ARGV[1])
+            local refill_per_ms = tonumber(ARGV[2]) / 1000
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(bucket[1]) or capacity
+            local ts = tonumber(bucket[2]) or now
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * refill_per_ms)
+            local allowed = 0
+            if tokens >= 1 then
+                tokens = tokens - 1
+                allowed = 1
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+            redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            return allowed
+            """, Long.class);
+
+    private final ReactiveStringRedisTemplate stringRedisTemplate;
+    private final DependencyGuards guards;
+    private final String keyPrefix;
+    private final List<String> args;
+
+    public RedisTokenBucketRateLimiter(ReactiveStringRedisTemplate stringRedisTemplate,
+                                       DependencyGuards guards,
+                                       RateLimitProperties properties) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.guards = guards;
+        this.keyPrefix = properties.getRedisKeyPrefix();
+        this.args = List.of(
+                String.valueOf(properties.getCapacity()),
+                String.valueOf(properties.getRefillPerSecond()),
+                String.valueOf(properties.getIdleTimeout().toMillis()));
+    }
+
+    @Override
+    public Mono<Boolean> tryConsume(String clientKey) {
+        return guards.guard(REDIS, stringRedisTemplate.execute(TOKEN_BUCKET, List.of(keyPrefix + clientKey), args)
+                        .next())
+                .map(allowed -> allowed == 1L);
+    }
+
+}
@@ -0,0 +1,169 @@
+package com.mpole.reactiveapp.ratelimit;
+
+import com.mpole.reactiveapp.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.net.InetSocketAddress;
+
+/*
+쓰기 API(POST /users, POST /users/import, PUT/DELETE /users/{id})의 요청 제한과 load shedding을 담당하는 WebFilter입니다.
+대기열에 쌓아 두지 않고 바로 거절하므로 과부하 시에도 지연 시간과 메모리가 한도 안에서 유지됩니다.
+1. 클라이언트별 토큰 버킷(ClientRateLimiter)이 비어 있으면 429 Too Many Requests
+2. 동시 처리 한도(AdaptiveConcurrencyLimiter)에 도달했으면 503 Service Unavailable
+거절 응답에는 Retry-After 헤더를 붙입니다. 조회 API와 POST /users/batch(일괄 조회)는 제한하지 않습니다.
+- 클라이언트는 원격 주소로 구분하며, clientHeader(X-Client-Id)는 trustedProxies에서 온 요청일 때만 사용합니다.
+- POST /users/import는 본문을 수 분 동안 스트리밍할 수 있으므로 동시 처리 수에는 포함하되 응답 시간은 한도 계산에 반영하지 않습니다.
+  (반영하면 일괄 등록이 진행되는 동안 다른 쓰기 요청의 한도가 minLimit까지 떨어짐)
+요청 제한 저장소(Redis) 장애 시에는 요청을 허용합니다. (fail-open)
+
+메트릭:
+- http.server.shed{reason=rate_limit|concurrency} : 거절된 요청 수
+- http.server.concurrency.limit                    : 현재 동시 처리 한도
+- http.server.concurrency.inflight                 : 처리 중인 쓰기 요청 수
+- http.server.ratelimit.errors                     : 요청 제한 저장소 오류로 검사 없이 허용한 요청 수
+ */
+@Slf4j
+public class WriteLoadSheddingFilter implements WebFilter, Ordered {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final ClientRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final RateLimitProperties properties;
+    private final Counter rateLimited;
+    private final Counter concurrencyShed;
+    private final Counter rateLimitErrors;
+
+    /**
+     * @param rateLimiter        클라이언트별 요청 제한, null이면 사용하지 않음
+     * @param concurrencyLimiter 동시 처리 한도, null이면 사용하지 않음
+     */
+    public WriteLoadSheddingFilter(ClientRateLimiter rateLimiter,
+                                   AdaptiveConcurrencyLimiter concurrencyLimiter,
+                                   RateLimitProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.properties = properties;
+        this.rateLimited = shedCounter(meterRegistry, "rate_limit");
+        this.concurrencyShed = shedCounter(meterRegistry, "concurrency");
+        this.rateLimitErrors = Counter.builder("http.server.ratelimit.errors")
+                .description("요청 제한 저장소 오류로 검사 없이 허용한 요청 수")
+                .register(meterRegistry);
+        if (concurrencyLimiter != null) {
+            Gauge.builder("http.server.concurrency.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .description("쓰기 API의 현재 동시 처리 한도")
+                    .register(meterRegistry);
+            Gauge.builder("http.server.concurrency.inflight", concurrencyLimiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .description("처리 중인 쓰기 API 요청 수")
+                    .register(meterRegistry);
+        }
+    }
+
+    private static Counter shedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("http.server.shed")
+                .description("요청 제한/과부하로 거절된 요청 수")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        // 다른 필터/핸들러가 일을 하기 전에 거절
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!isWriteRequest(exchange.getRequest())) {
+            return chain.filter(exchange);
+        }
+        Mono<Boolean> allowed = rateLimiter == null
+                ? Mono.just(true)
+                : rateLimiter.tryConsume(clientKey(exchange.getRequest()))
+                        .onErrorResume(e -> {
+                            rateLimitErrors.increment();
+                            log.debug("요청 제한 검사 실패, 요청을 허용합니다.", e);
+                            return Mono.just(true);
+                        })
+                        .defaultIfEmpty(true);
+        return allowed.flatMap(permitted -> {
+            if (!permitted) {
+                rateLimited.increment();
+                return reject(exchange, HttpStatus.TOO_MANY_REQUESTS);
+            }
+            return filterWithinConcurrencyLimit(exchange, chain);
+        });
+    }
+
+    private Mono<Void> filterWithinConcurrencyLimit(ServerWebExchange exchange, WebFilterChain chain) {
+        if (concurrencyLimiter == null) {
+            return chain.filter(exchange);
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            concurrencyShed.increment();
+            return reject(exchange, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        long start = System.nanoTime();
+        boolean streaming = isStreamingRequest(exchange.getRequest());
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    if (signal == SignalType.CANCEL || streaming) {
+                        concurrencyLimiter.releaseWithoutSample();
+                    } else {
+                        concurrencyLimiter.release(System.nanoTime() - start);
+                    }
+                });
+    }
+
+    private static Mono<Void> reject(ServerWebExchange exchange, HttpStatus status) {
+        exchange.getResponse().setStatusCode(status);
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        return exchange.getResponse().setComplete();
+    }
+
+    static boolean isWriteRequest(ServerHttpRequest request) {
+        HttpMethod method = request.getMethod();
+        String path = request.getPath().pathWithinApplication().value();
+        if (!path.equals("/users") && !path.startsWith("/users/")) {
+            return false;
+        }
+        if (HttpMethod.POST.equals(method)) {
+            return !path.equals("/users/batch"); // 일괄 조회는 POST지만 읽기 요청
+        }
+        return HttpMethod.PUT.equals(method) || HttpMethod.DELETE.equals(method);
+    }
+
+    // 처리 시간이 요청 본문 크기에 비례하는 스트리밍 쓰기 요청 (응답 시간을 한도 계산에 쓰지 않음)
+    static boolean isStreamingRequest(ServerHttpRequest request) {
+        return HttpMethod.POST.equals(request.getMethod())
+                && request.getPath().pathWithinApplication().value().equals("/users/import");
+    }
+
+    String clientKey(ServerHttpRequest request) {
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        String remote = remoteAddress != null ? remoteAddress.getHostString() : "unknown";
+        // 헤더는 호출자가 마음대로 바꿀 수 있으므로 신뢰하는 프록시가 붙인 경우에만 사용
+        if (properties.getTrustedProxies().contains(remote)) {
+            String client = request.getHeaders().getFirst(properties.getClientHeader());
+            if (client != null && !client.isBlank()) {
+                return client;
+            }
+        }
+        return remote;
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.mpole.reactiveapp.repository;
+
+import com.mpole.reactiveapp.model.UserOutboxEvent;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface UserOutboxRepository extends ReactiveCrudRepository<UserOutboxEvent, Long> {
+
+    // 가장 오래된 이벤트부터 limit개를 잠그며 조회 (발행 순서 = 기록 순서)
+    // 다른 릴레이가 잠근 행은 건너뛰므로 여러 인스턴스가 같은 이벤트를 동시에 발행하지 않음 (트랜잭션 안에서 호출)
+    @Query("SELECT * FROM user_outbox ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED")
+    Flux<UserOutboxEvent> claimOldest(int limit);
+
+}
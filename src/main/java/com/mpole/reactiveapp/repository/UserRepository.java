@@ -1,10 +1,33 @@
 package com.mpole.reactiveapp.repository;
 
 import com.mpole.reactiveapp.model.User;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
 
 @Repository
 public interface UserRepository extends ReactiveCrudRepository<User, Long> {
 
+    // SELECT * FROM users WHERE id IN (...) 단일 쿼리
+    Flux<User> findByIdIn(Collection<Long> ids);
+
+    // 키셋(id 커서) 페이지 조회: OFFSET 없이 PK 인덱스 범위 스캔만 수행
+    @Query("SELECT * FROM users WHERE id > :afterId ORDER BY id LIMIT :limit")
+    Flux<User> findPageAfter(long afterId, int limit);
+
+    // 최근 수정(생성 포함)된 사용자 순 조회: updated_at 인덱스를 역순으로 읽음 (캐시 예열용)
+    @Query("SELECT * FROM users ORDER BY updated_at DESC LIMIT :limit")
+    Flux<User> findRecentlyUpdated(int limit);
+
+    // 수정 트랜잭션 안에서 현재 버전을 primary에서 잠그고 조회 (같은 사용자의 동시 수정은 잠금 순서대로 처리)
+    @Query("SELECT version FROM users WHERE id = :id FOR UPDATE")
+    Mono<Long> findVersionForUpdate(Long id);
+
+    // 이메일 단건 조회: uk_users_email 유니크 인덱스 사용
+    Mono<User> findByEmail(String email);
+
 }
@@ -0,0 +1,129 @@
+package com.mpole.reactiveapp.resilience;
+
+import com.mpole.reactiveapp.config.ResilienceProperties;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static com.mpole.reactiveapp.metrics.DependencyMetrics.DB;
+import static com.mpole.reactiveapp.metrics.DependencyMetrics.KAFKA;
+import static com.mpole.reactiveapp.metrics.DependencyMetrics.REDIS;
+
+/*
+외부 의존성(DB/Redis/Kafka) 호출을 의존성별 시간 제한 → bulkhead → circuit breaker로 감쌉니다.
+의존성이 느려지거나 멈춰도 요청이 무한정 기다리며 커넥션을 붙잡지 않고, 정해진 시간 안에 실패하도록 하기 위한 것입니다.
+- 시간 제한  : timeout을 넘긴 호출은 취소하고 TimeoutException으로 실패
+- bulkhead   : 의존성별 동시 호출 수를 maxConcurrentCalls로 제한, 초과 시 대기 없이 BulkheadFullException
+- circuit breaker : 최근 호출의 실패율/느린 호출 비율이 기준을 넘으면 회로를 열고 waitInOpenState 동안
+                    호출 없이 CallNotPermittedException으로 바로 실패, 이후 시험 호출로 회복 여부 확인
+실패 시 대체 동작(캐시 건너뛰기 등)은 호출하는 쪽에서 정합니다.
+
+메트릭 (resilience4j-micrometer, name=db|redis|kafka):
+- resilience4j.circuitbreaker.state / calls / failure.rate / slow.call.rate
+- resilience4j.bulkhead.available.concurrent.calls / max.allowed.concurrent.calls
+ */
+@Component
+public class DependencyGuards {
+
+    private final boolean enabled;
+    private final Map<String, Guard> guards;
+
+    public DependencyGuards(ResilienceProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.ofDefaults();
+        BulkheadRegistry bulkheads = BulkheadRegistry.ofDefaults();
+        this.guards = Map.of(
+                DB, guard(DB, properties.getDb(), circuitBreakers, bulkheads),
+                REDIS, guard(REDIS, properties.getRedis(), circuitBreakers, bulkheads),
+                KAFKA, guard(KAFKA, properties.getKafka(), circuitBreakers, bulkheads));
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+    }
+
+    private static Guard guard(String name,
+                               ResilienceProperties.Dependency properties,
+                               CircuitBreakerRegistry circuitBreakers,
+                               BulkheadRegistry bulkheads) {
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+                .failureRateThreshold(properties.getFailureRateThreshold())
+                .slowCallRateThreshold(properties.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(properties.getSlowCallDuration())
+                .slidingWindowSize(properties.getSlidingWindowSize())
+                .minimumNumberOfCalls(properties.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(properties.getWaitInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(properties.getPermittedCallsInHalfOpenState())
+                // 동시 호출 한도 초과는 의존성 장애가 아니므로 실패율에 넣지 않음
+                .ignoreExceptions(BulkheadFullException.class)
+                .build();
+        BulkheadConfig bulkheadConfig = BulkheadConfig.custom()
+                .maxConcurrentCalls(properties.getMaxConcurrentCalls())
+                .maxWaitDuration(Duration.ZERO) // 이벤트 루프 스레드를 막지 않도록 대기하지 않음
+                .build();
+        return new Guard(properties.getTimeout(),
+                circuitBreakers.circuitBreaker(name, circuitBreakerConfig),
+                bulkheads.bulkhead(name, bulkheadConfig));
+    }
+
+    /**
+     * 의존성 호출 Mono에 시간 제한, bulkhead, circuit breaker를 적용합니다.
+     *
+     * @param dependency 의존성 (db, redis, kafka)
+     * @param source     보호할 호출
+     * @return 보호가 추가된 Mono
+     */
+    public <T> Mono<T> guard(String dependency, Mono<T> source) {
+        if (!enabled) {
+            return source;
+        }
+        Guard guard = guards.get(dependency);
+        return source.timeout(guard.timeout())
+                .transformDeferred(BulkheadOperator.of(guard.bulkhead()))
+                .transformDeferred(CircuitBreakerOperator.of(guard.circuitBreaker()));
+    }
+
+    /**
+     * 의존성 호출 Flux에 시간 제한(원소 사이 간격 기준), bulkhead, circuit breaker를 적용합니다.
+     *
+     * @param dependency 의존성 (db, redis, kafka)
+     * @param source     보호할 호출
+     * @return 보호가 추가된 Flux
+     */
+    public <T> Flux<T> guard(String dependency, Flux<T> source) {
+        if (!enabled) {
+            return source;
+        }
+        Guard guard = guards.get(dependency);
+        return source.timeout(guard.timeout())
+                .transformDeferred(BulkheadOperator.of(guard.bulkhead()))
+                .transformDeferred(CircuitBreakerOperator.of(guard.circuitBreaker()));
+    }
+
+    /**
+     * 의존성의 현재 회로 상태입니다.
+     *
+     * @param dependency 의존성 (db, redis, kafka)
+     * @return CLOSED, OPEN, HALF_OPEN 등
+     */
+    public CircuitBreaker.State state(String dependency) {
+        return guards.get(dependency).circuitBreaker().getState();
+    }
+
+    private record Guard(Duration timeout, CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+    }
+
+}
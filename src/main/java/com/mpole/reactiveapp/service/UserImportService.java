@@ -0,0 +1,247 @@
+package com.mpole.reactiveapp.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mpole.reactiveapp.cache.UserCacheExpiry;
+import com.mpole.reactiveapp.config.UserImportProperties;
+import com.mpole.reactiveapp.model.User;
+import com.mpole.reactiveapp.model.UserImportProgress;
+import com.mpole.reactiveapp.model.UserImportProgress.RowFailure;
+import com.mpole.reactiveapp.outbox.UserOutbox;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+NDJSON/CSV 요청 본문을 줄 단위로 읽어 사용자를 일괄 등록합니다.
+- 요청 본문은 청크(chunkSize행) 단위로만 메모리에 올라가며, 다음 청크는 현재 청크 저장이 끝난 뒤에 읽습니다.
+- 청크마다 다중 행 INSERT 한 번 + 요약 이벤트(IMPORTED) 아웃박스 기록을 하나의 트랜잭션으로 처리합니다.
+- 청크에 이미 등록된(또는 청크 안에서 중복된) 이메일이 있어 다중 행 INSERT가 실패하면, 그 청크만 행 단위 INSERT로 다시 저장하여
+  중복된 행만 실패로 보고합니다.
+- 저장된 사용자는 키별 TTL을 붙여 파이프라인으로 Redis 캐시를 미리 채웁니다.
+- 형식 오류/검증 실패 행은 건너뛰고 진행 상황에 줄 번호와 사유를 담아 반환합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserImportService {
+
+    private static final int MAX_COLUMN_LENGTH = 255;
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final ReactiveRedisTemplate<String, User> redisTemplate;
+    private final UserOutbox userOutbox;
+    private final ObjectMapper objectMapper;
+    private final UserImportProperties properties;
+    private final UserCacheExpiry cacheExpiry;
+
+    /**
+     * NDJSON 본문(한 줄에 사용자 JSON 하나)을 일괄 등록합니다.
+     *
+     * @param lines 요청 본문의 각 줄
+     * @return 청크별 진행 상황
+     */
+    public Flux<UserImportProgress> importNdjson(Flux<String> lines) {
+        return importRows(lines.index().map(line -> parseJson(line.getT1() + 1, line.getT2())));
+    }
+
+    /**
+     * CSV 본문("name,email", 첫 줄 헤더는 선택)을 일괄 등록합니다.
+     *
+     * @param lines 요청 본문의 각 줄
+     * @return 청크별 진행 상황
+     */
+    public Flux<UserImportProgress> importCsv(Flux<String> lines) {
+        return importRows(lines.index()
+                .filter(line -> !(line.getT1() == 0 && isCsvHeader(line.getT2())))
+                .map(line -> parseCsv(line.getT1() + 1, line.getT2())));
+    }
+
+    private Flux<UserImportProgress> importRows(Flux<Row> rows) {
+        AtomicLong processed = new AtomicLong();
+        AtomicLong inserted = new AtomicLong();
+        return rows
+                .filter(row -> !row.blank())
+                .buffer(properties.getChunkSize())
+                .index()
+                .concatMap(chunk -> importChunk(chunk.getT2())
+                        .map(result -> new UserImportProgress(
+                                chunk.getT1() + 1,
+                                processed.addAndGet(chunk.getT2().size()),
+                                inserted.addAndGet(result.inserted()),
+                                result.failures())));
+    }
+
+    private Mono<ChunkResult> importChunk(List<Row> rows) {
+        List<RowFailure> failures = new ArrayList<>();
+        List<Row> validRows = new ArrayList<>();
+        for (Row row : rows) {
+            String reason = row.error() != null ? row.error() : validate(row.user());
+            if (reason != null) {
+                failures.add(new RowFailure(row.line(), reason));
+            } else {
+                validRows.add(row);
+            }
+        }
+        List<User> users = validRows.stream().map(Row::user).toList();
+        if (users.isEmpty()) {
+            return Mono.just(new ChunkResult(0, failures));
+        }
+
+        Mono<List<User>> insertWithEvent = insertAll(users)
+                .flatMap(saved -> userOutbox.appendImported(saved.stream().map(User::getId).toList())
+                        .thenReturn(saved));
+        return transactionalOperator.transactional(insertWithEvent)
+                .onErrorResume(DuplicateKeyException.class, e -> insertEachSkippingDuplicates(validRows, failures))
+                .flatMap(saved -> (saved.isEmpty() ? Mono.empty() : warmCache(saved))
+                        .thenReturn(new ChunkResult(saved.size(), failures)))
+                .onErrorResume(e -> {
+                    // 청크 저장이 실패하면 해당 청크의 모든 행을 실패로 보고하고 다음 청크를 계속 처리
+                    log.warn("사용자 일괄 등록 청크 저장 실패: {}행", users.size(), e);
+                    validRows.forEach(row -> failures.add(new RowFailure(row.line(), "저장 실패: " + e.getMessage())));
+                    return Mono.just(new ChunkResult(0, failures));
+                });
+    }
+
+    /**
+     * 청크의 행을 하나씩 INSERT하여, 이메일이 중복된 행만 실패로 보고하고 나머지는 저장합니다.
+     * 중복 키 오류는 해당 문장만 취소되므로 나머지 행과 요약 이벤트는 하나의 트랜잭션으로 처리합니다.
+     */
+    private Mono<List<User>> insertEachSkippingDuplicates(List<Row> rows, List<RowFailure> failures) {
+        List<RowFailure> duplicates = new ArrayList<>();
+        Mono<List<User>> insertWithEvent = Flux.fromIterable(rows)
+                .concatMap(row -> insertAll(List.of(row.user()))
+                        .onErrorResume(DuplicateKeyException.class, e -> {
+                            duplicates.add(new RowFailure(row.line(), "이미 등록된 email입니다: " + row.user().getEmail()));
+                            return Mono.empty();
+                        }))
+                .flatMapIterable(saved -> saved)
+                .collectList()
+                .flatMap(saved -> (saved.isEmpty() ? Mono.<Void>empty()
+                        : userOutbox.appendImported(saved.stream().map(User::getId).toList()))
+                        .thenReturn(saved));
+        return transactionalOperator.transactional(insertWithEvent)
+                // 재시도 트랜잭션이 커밋된 경우에만 중복 행을 실패로 보고 (실패하면 호출한 쪽이 모든 행을 실패로 보고)
+                .doOnNext(saved -> {
+                    log.debug("사용자 일괄 등록 중복 email 행 제외: {}행", duplicates.size());
+                    failures.addAll(duplicates);
+                });
+    }
+
+    /**
+     * 다중 행 INSERT 한 번으로 사용자를 저장하고 생성된 ID를 채워 반환합니다.
+     */
+    private Mono<List<User>> insertAll(List<User> users) {
+        StringBuilder sql = new StringBuilder("INSERT INTO users (name, email) VALUES ");
+        for (int i = 0; i < users.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("(:name").append(i).append(", :email").append(i).append(")");
+        }
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .filter(statement -> statement.returnGeneratedValues("id"));
+        for (int i = 0; i < users.size(); i++) {
+            spec = spec.bind("name" + i, users.get(i).getName())
+                    .bind("email" + i, users.get(i).getEmail());
+        }
+        return spec.map(row -> row.get("id", Long.class))
+                .all()
+                .collectList()
+                .map(ids -> assignIds(users, ids));
+    }
+
+    private static List<User> assignIds(List<User> users, List<Long> ids) {
+        // RETURNING을 지원하지 않는 서버는 첫 ID(LAST_INSERT_ID)만 돌려주며,
+        // 단일 다중 행 INSERT의 AUTO_INCREMENT 값은 연속으로 할당됨 (innodb_autoinc_lock_mode 0/1)
+        long first = ids.isEmpty() ? 0 : ids.get(0);
+        for (int i = 0; i < users.size(); i++) {
+            users.get(i).setId(ids.size() == users.size() ? ids.get(i) : first + i);
+            users.get(i).setVersion(0L); // 컬럼 기본값
+        }
+        return users;
+    }
+
+    private Mono<Boolean> warmCache(List<User> users) {
+        return cacheExpiry.cacheAll(redisTemplate.opsForValue(), users, false)
+                // 캐시 예열 실패는 등록 결과에 영향을 주지 않음
+                .onErrorResume(e -> {
+                    log.warn("일괄 등록 사용자 캐시 예열 실패", e);
+                    return Mono.just(false);
+                });
+    }
+
+    private Row parseJson(long line, String text) {
+        if (text.isBlank()) {
+            return Row.blankLine(line);
+        }
+        try {
+            User user = objectMapper.readValue(text, User.class);
+            if (user == null) {
+                return new Row(line, null, "JSON 형식 오류: 사용자 객체가 필요합니다.");
+            }
+            user.setId(null); // ID는 DB가 할당
+            return new Row(line, user, null);
+        } catch (JsonProcessingException e) {
+            return new Row(line, null, "JSON 형식 오류: " + e.getOriginalMessage());
+        }
+    }
+
+    static Row parseCsv(long line, String text) {
+        if (text.isBlank()) {
+            return Row.blankLine(line);
+        }
+        String[] columns = text.split(",", -1);
+        if (columns.length != 2) {
+            return new Row(line, null, "CSV 컬럼 수 오류: name,email 두 개가 필요합니다.");
+        }
+        return new Row(line, new User(null, unquote(columns[0]), unquote(columns[1])), null);
+    }
+
+    static String validate(User user) {
+        if (user.getName() == null || user.getName().isBlank()) {
+            return "name이 비어 있습니다.";
+        }
+        if (user.getEmail() == null || !user.getEmail().contains("@")) {
+            return "email 형식이 올바르지 않습니다.";
+        }
+        if (user.getName().length() > MAX_COLUMN_LENGTH || user.getEmail().length() > MAX_COLUMN_LENGTH) {
+            return "name/email은 " + MAX_COLUMN_LENGTH + "자를 넘을 수 없습니다.";
+        }
+        return null;
+    }
+
+    private static boolean isCsvHeader(String text) {
+        return text.replace("\"", "").replace(" ", "").equalsIgnoreCase("name,email");
+    }
+
+    private static String unquote(String column) {
+        String value = column.trim();
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1).trim();
+        }
+        return value;
+    }
+
+    record Row(long line, User user, String error) {
+        static Row blankLine(long line) {
+            return new Row(line, null, null);
+        }
+
+        boolean blank() {
+            return user == null && error == null;
+        }
+    }
+
+    private record ChunkResult(int inserted, List<RowFailure> failures) {
+    }
+
+}
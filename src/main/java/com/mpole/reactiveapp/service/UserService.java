@@ -1,99 +1,547 @@
 package com.mpole.reactiveapp.service;
 
-import com.mpole.reactiveapp.kafka.KafkaProducerService;
+import com.mpole.reactiveapp.cache.SingleFlight;
+import com.mpole.reactiveapp.cache.UserCacheExpiry;
+import com.mpole.reactiveapp.cache.UserNearCache;
+import com.mpole.reactiveapp.metrics.DependencyMetrics;
 import com.mpole.reactiveapp.model.User;
+import com.mpole.reactiveapp.model.UserEventType;
+import com.mpole.reactiveapp.outbox.UserOutbox;
 import com.mpole.reactiveapp.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.mpole.reactiveapp.resilience.DependencyGuards;
+import com.mpole.reactiveapp.writebehind.UserWriteBehindBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+import static com.mpole.reactiveapp.db.ReplicaRoutingConnectionFactory.readOnly;
+import static com.mpole.reactiveapp.metrics.DependencyMetrics.DB;
+import static com.mpole.reactiveapp.metrics.DependencyMetrics.REDIS;
+
+/*
+사용자 CRUD와 캐시(L1 → Redis → DB) 조회를 담당합니다.
+이메일 조회는 Redis "email:{소문자 email}" → 사용자 ID 매핑으로 찾고, 매핑이 없거나 낡았으면 DB 유니크 인덱스로 조회합니다.
+매핑은 생성/수정/삭제 시 함께 갱신하며, 조회 시에도 사용자의 현재 이메일과 맞는지 확인합니다.
+사용자 버전(version)은 수정할 때마다 1씩 증가합니다. 수정은 트랜잭션 안에서 primary의 현재 버전을 잠그고(FOR UPDATE) 읽어
+그 버전으로 저장하므로, 캐시/replica의 버전이 뒤처져도 조건 없는 수정은 실패하지 않습니다.
+클라이언트가 기대 버전(If-Match)을 보냈는데 현재 버전과 다르면 OptimisticLockingFailureException으로 실패하고,
+컨트롤러가 412로 응답합니다. (lost update 방지)
+
+모든 DB/Redis 호출은 DependencyGuards(시간 제한, bulkhead, circuit breaker)를 거칩니다.
+- Redis 조회 실패는 캐시 미스로 처리하여 DB에서 조회합니다. (캐시 없이 동작)
+- Redis 저장/삭제와 L1 무효화 발행 실패는 요청을 실패시키지 않습니다. 남은 캐시 값은 TTL과
+  아웃박스 이벤트를 받은 KafkaConsumerService의 키 삭제로 정리됩니다.
+- DB 호출 실패는 그대로 전달되며, 컨트롤러가 503으로 응답합니다.
+- Kafka 발행은 원래 요청 경로 밖(아웃박스 → UserOutboxRelay)이므로 Kafka 장애 동안 이벤트는 아웃박스에 쌓였다가 회복 후 발행됩니다.
+
+메트릭:
+- user.dependency{dependency=db|redis, operation, outcome} : 구간별 호출 시간 (DependencyMetrics)
+- user.lookups{result=near|redis|db|not_found}            : getUserById가 응답한 계층,
+  캐시 적중률 = (near + redis) / 전체
+- user.cache.early_refresh                                 : 만료 전에 미리 갱신(XFetch)한 Redis 키 수
+- user.cache.fallbacks{operation=read|write}               : Redis 오류로 캐시를 건너뛴 호출 수
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class UserService {
 
+    // 전체 조회 스트리밍 시 한 번의 쿼리로 읽는 사용자 수
+    private static final int STREAM_CHUNK_SIZE = 500;
+    // 캐시 미스 시 공유되는 DB 조회 + Redis 저장의 최대 대기 시간 (의존성별 시간 제한이 꺼져 있거나 우회되어도 합류한 요청이 무한정 기다리지 않도록)
+    private static final Duration USER_LOAD_TIMEOUT = Duration.ofSeconds(3);
+
     private final UserRepository userRepository;
     private final ReactiveRedisTemplate<String, User> redisTemplate;
-    private final KafkaProducerService kafkaProducerService;
+    // 단건 캐시 조회 전용 replica 템플릿 (잠깐 이전 값을 읽어도 되는 조회에만 사용)
+    private final ReactiveRedisTemplate<String, User> replicaRedisTemplate;
+    private final ReactiveStringRedisTemplate stringRedisTemplate;
+    private final UserOutbox userOutbox;
+    private final TransactionalOperator transactionalOperator;
+    private final UserNearCache nearCache;
+    private final UserWriteBehindBuffer writeBehind;
+    private final UserCacheExpiry cacheExpiry;
+    private final DependencyGuards guards;
+    // 같은 ID의 캐시 미스를 하나의 DB 조회/Redis 저장으로 합치기 위한 single-flight
+    private final SingleFlight<Long, User> userLoads;
+    private final DependencyMetrics metrics;
+    private final Counter nearHits;
+    private final Counter redisHits;
+    private final Counter dbLoads;
+    private final Counter notFound;
+    private final Counter earlyRefreshes;
+    private final Counter cacheReadFallbacks;
+    private final Counter cacheWriteFallbacks;
+
+    public UserService(UserRepository userRepository,
+                       ReactiveRedisTemplate<String, User> redisTemplate,
+                       @Qualifier("replicaUserRedisTemplate") ReactiveRedisTemplate<String, User> replicaRedisTemplate,
+                       ReactiveStringRedisTemplate stringRedisTemplate,
+                       UserOutbox userOutbox,
+                       TransactionalOperator transactionalOperator,
+                       UserNearCache nearCache,
+                       UserWriteBehindBuffer writeBehind,
+                       UserCacheExpiry cacheExpiry,
+                       DependencyGuards guards,
+                       MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.redisTemplate = redisTemplate;
+        this.replicaRedisTemplate = replicaRedisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.userOutbox = userOutbox;
+        this.transactionalOperator = transactionalOperator;
+        this.nearCache = nearCache;
+        this.writeBehind = writeBehind;
+        this.cacheExpiry = cacheExpiry;
+        this.guards = guards;
+        this.userLoads = new SingleFlight<>("user.load", USER_LOAD_TIMEOUT, meterRegistry);
+        this.metrics = new DependencyMetrics(meterRegistry);
+        this.nearHits = lookupCounter(meterRegistry, "near");
+        this.redisHits = lookupCounter(meterRegistry, "redis");
+        this.dbLoads = lookupCounter(meterRegistry, "db");
+        this.notFound = lookupCounter(meterRegistry, "not_found");
+        this.earlyRefreshes = Counter.builder("user.cache.early_refresh")
+                .description("만료 전에 미리 갱신한 Redis 사용자 키 수")
+                .register(meterRegistry);
+        this.cacheReadFallbacks = cacheFallbackCounter(meterRegistry, "read");
+        this.cacheWriteFallbacks = cacheFallbackCounter(meterRegistry, "write");
+    }
+
+    private static Counter cacheFallbackCounter(MeterRegistry meterRegistry, String operation) {
+        return Counter.builder("user.cache.fallbacks")
+                .description("Redis 오류(시간 초과, 회로 열림 등)로 캐시를 건너뛴 호출 수")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("user.lookups")
+                .description("getUserById 요청이 응답된 계층")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
 
     /**
      * 사용자를 생성하고 Redis에 해당 사용자 정보를 저장합니다.
+     * 사용자 저장과 생성 이벤트의 아웃박스 기록은 하나의 트랜잭션으로 처리되며,
+     * Kafka 발행은 UserOutboxRelay가 비동기로 수행합니다.
      *
      * @param user 생성할 사용자 객체
      * @return 생성된 사용자 정보를 포함하는 Mono
      */
     public Mono<User> createUser(User user) {
-        return userRepository.save(user) // 데이터베이스에 사용자 저장
+        user.setVersion(null); // 버전이 없어야 새 사용자로 INSERT됨 (저장 시 0)
+        Mono<User> saveWithEvent = db("save", userRepository.save(user)) // 데이터베이스에 사용자 저장
+                .flatMap(savedUser -> userOutbox.append(UserEventType.CREATED, savedUser) // 아웃박스에 이벤트 기록
+                        .thenReturn(savedUser));
+        return transactionalOperator.transactional(saveWithEvent)
                 // Redis에 사용자 정보를 "user:{id}" 형식으로 저장
-                .flatMap(savedUser -> redisTemplate.opsForValue().set("user:" + savedUser.getId(), savedUser)
-                        .then(kafkaProducerService.sendMessage("사용자 생성: " + savedUser.getName())) // Kafka 전송
-                        .thenReturn(savedUser)); // 저장된 사용자 정보를 반환
+                .flatMap(savedUser -> skipOnError(redis("set",
+                                redisTemplate.opsForValue().set("user:" + savedUser.getId(), savedUser, cacheExpiry.nextTtl())))
+                        .then(cacheEmail(savedUser)) // 이메일 → ID 매핑 저장
+                        .thenReturn(savedUser)) // 저장된 사용자 정보를 반환
+                .doOnNext(savedUser -> log.debug("사용자 생성: id={}", savedUser.getId()));
     }
 
     /**
-     * 모든 사용자의 정보를 조회합니다.
+     * 모든 사용자의 정보를 id 순으로 스트리밍합니다.
+     * 테이블 전체를 한 번에 읽지 않고 STREAM_CHUNK_SIZE 단위의 키셋 쿼리로 나누어 읽으며,
+     * 다음 청크는 구독자가 현재 청크를 소비한 뒤에 조회하므로 요청당 메모리는 최대 두 청크로 유지됩니다.
+     * 청크 조회가 끝날 때마다 커넥션을 반납하므로 느린 클라이언트가 DB 커넥션을 붙잡지 않습니다.
      *
      * @return 모든 사용자 정보를 포함하는 Flux
      */
     public Flux<User> getAllUsers() {
-        return userRepository.findAll();
+        return fetchChunk(0L, STREAM_CHUNK_SIZE)
+                .expand(chunk -> chunk.size() < STREAM_CHUNK_SIZE
+                        ? Mono.empty()
+                        : fetchChunk(chunk.get(chunk.size() - 1).getId(), STREAM_CHUNK_SIZE))
+                .flatMapIterable(chunk -> chunk, 1); // 한 번에 한 청크씩만 요청
+    }
+
+    /**
+     * id 커서 기반으로 사용자 한 페이지를 조회합니다.
+     *
+     * @param afterId 이전 페이지의 마지막 사용자 ID (첫 페이지는 0)
+     * @param size    페이지 크기
+     * @return afterId보다 큰 id를 가진 사용자를 최대 size명 포함하는 Flux
+     */
+    public Flux<User> getUsersPage(long afterId, int size) {
+        return db("findPageAfter", readOnly(userRepository.findPageAfter(afterId, size)));
+    }
+
+    private Mono<List<User>> fetchChunk(long afterId, int size) {
+        return db("findPageAfter", readOnly(userRepository.findPageAfter(afterId, size))).collectList();
     }
 
     /**
      * 특정 ID를 가진 사용자의 정보를 조회합니다.
-     * 먼저 Redis에서 해당 사용자를 찾고, 없으면 데이터베이스에서 조회합니다.
+     * 먼저 로컬(L1) 캐시, 그다음 Redis에서 해당 사용자를 찾고, 없으면 데이터베이스에서 조회합니다.
      *
      * @param id 조회할 사용자 ID
      * @return 사용자의 정보를 포함하는 Mono
      */
     public Mono<User> getUserById(Long id) {
+        // 단건 조회는 잠깐 이전 값을 읽어도 되므로 Redis replica에서 읽음
+        return getUserById(id, replicaRedisTemplate);
+    }
+
+    private Mono<User> getUserById(Long id, ReactiveRedisTemplate<String, User> readTemplate) {
+        // L1 캐시에 있으면 네트워크 왕복 없이 바로 반환
+        return Mono.fromSupplier(() -> nearCache.getIfPresent(id))
+                .doOnNext(user -> nearHits.increment())
+                .switchIfEmpty(Mono.defer(() -> getUserFromRedisOrDb(id, readTemplate))
+                        .doOnNext(nearCache::put)); // 조회된 사용자 정보를 L1 캐시에 저장
+    }
+
+    /**
+     * 이메일로 사용자를 조회합니다.
+     * Redis의 "email:{email}" 매핑으로 ID를 찾아 getUserById로 조회하고, 매핑이 없으면 DB에서 이메일 인덱스로 조회합니다.
+     * 매핑이 가리키는 사용자의 이메일이 바뀌었으면(낡은 매핑) 매핑을 지우고 DB에서 다시 찾습니다.
+     *
+     * @param email 조회할 이메일 (대소문자 구분 없음)
+     * @return 사용자의 정보를 포함하는 Mono, 없으면 빈 Mono
+     */
+    public Mono<User> getUserByEmail(String email) {
+        String key = emailKey(email);
+        return missOnError(redis("get", stringRedisTemplate.opsForValue().get(key)))
+                .flatMap(id -> getUserById(Long.valueOf(id))
+                        .filter(user -> email.equalsIgnoreCase(user.getEmail()))
+                        .switchIfEmpty(Mono.defer(() -> skipOnError(redis("delete",
+                                        stringRedisTemplate.opsForValue().delete(key)))
+                                .then(Mono.empty()))))
+                .switchIfEmpty(Mono.defer(() -> loadByEmailFromDbAndCache(email)));
+    }
+
+    private Mono<User> loadByEmailFromDbAndCache(String email) {
+        // 캐시를 채우는 조회는 primary에서 (replica 지연으로 낡은 값이 TTL 동안 캐시되지 않도록)
+        return db("findByEmail", userRepository.findByEmail(email))
+                .flatMap(user -> skipOnError(redis("set",
+                                redisTemplate.opsForValue().set("user:" + user.getId(), user, cacheExpiry.nextTtl())))
+                        .then(cacheEmail(user))
+                        .thenReturn(user))
+                .doOnNext(nearCache::put);
+    }
+
+    private Mono<Boolean> cacheEmail(User user) {
+        if (user.getEmail() == null) {
+            return Mono.just(false);
+        }
+        return skipOnError(redis("set", stringRedisTemplate.opsForValue()
+                .set(emailKey(user.getEmail()), String.valueOf(user.getId()), cacheExpiry.nextTtl())));
+    }
+
+    private Mono<Boolean> evictEmail(String email) {
+        if (email == null) {
+            return Mono.just(false);
+        }
+        return skipOnError(redis("delete", stringRedisTemplate.opsForValue().delete(emailKey(email))));
+    }
+
+    // DB 컬럼 정렬(collation)이 대소문자를 구분하지 않으므로 키도 소문자로 통일
+    private static String emailKey(String email) {
+        return "email:" + email.toLowerCase(Locale.ROOT);
+    }
+
+    private Mono<User> getUserFromRedisOrDb(Long id, ReactiveRedisTemplate<String, User> readTemplate) {
         // Redis에서 사용자 정보를 "user:{id}" 형식으로 조회
-        return redisTemplate.opsForValue().get("user:" + id)
-                .switchIfEmpty(userRepository.findById(id) // Redis에 없을 경우 데이터베이스에서 조회
-                            // Redis에 조회된 사용자 정보를 "user:{id}" 형식으로 저장
-                            .flatMap(user -> redisTemplate.opsForValue().set("user:" + id, user)
-                                    .thenReturn(user))); // 조회된 사용자 정보를 반환
+        return getFromRedis(id, readTemplate)
+                .doOnNext(user -> redisHits.increment())
+                // Redis에 없을 경우 데이터베이스에서 조회 (동시 미스는 하나의 조회로 합침)
+                .switchIfEmpty(Mono.defer(() -> userLoads.execute(id, () -> loadFromDbAndCache(id))
+                        .doOnNext(user -> dbLoads.increment())
+                        .switchIfEmpty(Mono.fromRunnable(notFound::increment))));
+    }
+
+    private Mono<User> getFromRedis(Long id, ReactiveRedisTemplate<String, User> readTemplate) {
+        String key = "user:" + id;
+        Mono<User> cached = redis("get", readTemplate.opsForValue().get(key));
+        if (!cacheExpiry.isEarlyRefreshEnabled()) {
+            return missOnError(cached);
+        }
+        // 값과 남은 TTL을 함께 조회 (같은 연결로 연달아 전송되어 추가 왕복은 거의 없음)
+        return missOnError(Mono.zip(cached, redis("getExpire", readTemplate.getExpire(key)))
+                .doOnNext(entry -> {
+                    if (cacheExpiry.shouldRefreshEarly(entry.getT2())) {
+                        refreshInBackground(id);
+                    }
+                })
+                .map(Tuple2::getT1));
+    }
+
+    /**
+     * 만료가 가까운 키를 DB에서 다시 읽어 갱신합니다. 현재 요청은 기존 값으로 바로 응답하며,
+     * 같은 ID의 동시 갱신은 single-flight로 하나로 합쳐집니다.
+     */
+    private void refreshInBackground(Long id) {
+        earlyRefreshes.increment();
+        userLoads.execute(id, () -> loadFromDbAndCache(id))
+                .subscribe(null, e -> log.warn("사용자 캐시 조기 갱신 실패: id={}", id, e));
+    }
+
+    private Mono<User> loadFromDbAndCache(Long id) {
+        // write-behind 버퍼에 아직 DB에 반영되지 않은 수정 내용이 있으면 DB 값 대신 사용
+        User unflushed = writeBehind.getPending(id);
+        Mono<User> source = unflushed != null
+                ? Mono.just(unflushed)
+                : Mono.defer(() -> {
+                    long start = System.nanoTime();
+                    // 캐시를 채우는 조회는 primary에서 (replica 지연으로 낡은 값이 TTL 동안 캐시되지 않도록)
+                    return db("findById", userRepository.findById(id))
+                            // 조기 갱신 판단에 쓰는 재조회 시간 기록
+                            .doOnSuccess(user -> cacheExpiry.recordRecompute(System.nanoTime() - start));
+                });
+        return source
+                // Redis에 조회된 사용자 정보를 "user:{id}" 형식으로 저장
+                .flatMap(user -> skipOnError(redis("set",
+                                redisTemplate.opsForValue().set("user:" + id, user, cacheExpiry.nextTtl())))
+                        .thenReturn(user)); // 조회된 사용자 정보를 반환
+    }
+
+    /**
+     * 여러 ID의 사용자 정보를 한 번에 조회합니다.
+     * L1 캐시 → Redis MGET 한 번 → 미스된 ID만 DB IN 쿼리 한 번 순서로 조회하고,
+     * DB에서 읽은 사용자는 키별 TTL을 붙여 파이프라인으로 다시 캐시합니다.
+     *
+     * @param ids 조회할 사용자 ID 목록
+     * @return 요청한 순서대로 정렬된 사용자 정보 (존재하지 않는 ID는 제외)
+     */
+    public Flux<User> getUsersByIds(List<Long> ids) {
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctIds.isEmpty()) {
+            return Flux.empty();
+        }
+
+        return Flux.defer(() -> {
+            Map<Long, User> found = new HashMap<>();
+            List<Long> nearMisses = new ArrayList<>();
+            for (Long id : distinctIds) {
+                User cached = nearCache.getIfPresent(id);
+                if (cached != null) {
+                    found.put(id, cached);
+                } else {
+                    nearMisses.add(id);
+                }
+            }
+
+            Mono<Map<Long, User>> resolved = nearMisses.isEmpty()
+                    ? Mono.just(found)
+                    : getUsersFromRedisOrDb(nearMisses).map(loaded -> {
+                        loaded.values().forEach(nearCache::put);
+                        found.putAll(loaded);
+                        return found;
+                    });
+
+            return resolved.flatMapIterable(users -> distinctIds.stream()
+                    .map(users::get)
+                    .filter(Objects::nonNull)
+                    .toList());
+        });
+    }
+
+    private Mono<Map<Long, User>> getUsersFromRedisOrDb(List<Long> ids) {
+        List<String> keys = ids.stream().map(id -> "user:" + id).toList();
+        // Redis MGET 한 번으로 조회 (없는 키는 null, Redis 오류 시 전부 미스로 처리)
+        return missOnError(redis("multiGet", redisTemplate.opsForValue().multiGet(keys)))
+                .defaultIfEmpty(Collections.<User>nCopies(ids.size(), null))
+                .flatMap(cachedUsers -> {
+                    Map<Long, User> loaded = new HashMap<>();
+                    List<Long> misses = new ArrayList<>();
+                    for (int i = 0; i < ids.size(); i++) {
+                        User cached = cachedUsers.get(i);
+                        if (cached != null) {
+                            loaded.put(ids.get(i), cached);
+                        } else {
+                            misses.add(ids.get(i));
+                        }
+                    }
+                    if (misses.isEmpty()) {
+                        return Mono.just(loaded);
+                    }
+                    // 미스된 ID만 primary에서 IN 쿼리 한 번으로 조회하고 키별 TTL로 캐시
+                    return db("findByIdIn", userRepository.findByIdIn(misses))
+                            .collectList()
+                            .flatMap(dbUsers -> {
+                                if (dbUsers.isEmpty()) {
+                                    return Mono.just(loaded);
+                                }
+                                dbUsers.forEach(user -> loaded.put(user.getId(), user));
+                                return skipOnError(redis("cacheAll",
+                                                cacheExpiry.cacheAll(redisTemplate.opsForValue(), dbUsers, false)))
+                                        .thenReturn(loaded);
+                            });
+                });
     }
 
     /**
      * 특정 ID를 가진 사용자의 정보를 업데이트합니다.
+     * write-behind 모드에서는 Redis에 바로 반영하고 DB 저장은 UserWriteBehindBuffer가 모아서 처리합니다.
      *
      * @param id 업데이트할 사용자 ID
      * @param user 업데이트할 사용자 객체
      * @return 업데이트된 사용자 정보를 포함하는 Mono
      */
     public Mono<User> updateUser(Long id, User user) {
+        return updateUser(id, user, null);
+    }
+
+    /**
+     * 기대 버전이 현재 버전과 같을 때만 사용자의 정보를 업데이트합니다. (조건부 수정)
+     * 버전이 다르면 OptimisticLockingFailureException으로 실패합니다.
+     *
+     * @param id              업데이트할 사용자 ID
+     * @param user            업데이트할 사용자 객체
+     * @param expectedVersion 클라이언트가 마지막으로 본 버전, null이면 조건 없이 수정
+     * @return 업데이트된 사용자 정보를 포함하는 Mono
+     */
+    public Mono<User> updateUser(Long id, User user, Long expectedVersion) {
         user.setId(id);
-        return userRepository.save(user)
-                .doOnNext(updatedUser -> System.out.println("✅ DB 저장 완료: " + updatedUser))
-                .flatMap(updatedUser -> {
-                    System.out.println("✅ Redis 저장 시작: " + updatedUser);
-                    return redisTemplate.opsForValue().set("user:" + id, updatedUser)
-                            .doOnSuccess(success -> System.out.println("✅ Redis 저장 완료: " + success))
-                            .thenReturn(updatedUser);
+        // 존재 확인과 이전 이메일 확인은 캐시 계층(L1/Redis)에서 대부분 끝나므로 DB 왕복 없이 처리됨
+        // 이전 버전(write-behind의 기준 버전)과 이전 이메일이 뒤처지면 안 되므로 Redis는 master에서 읽음
+        return getUserById(id, redisTemplate)
+                .switchIfEmpty(Mono.error(new RuntimeException("사용자가 존재하지 않습니다: " + id)))
+                .flatMap(previous -> (writeBehind.isEnabled()
+                        ? updateUserWriteBehind(id, user, previous, expectedVersion)
+                        : updateUserNow(id, user, expectedVersion))
+                        .flatMap(updated -> updateEmailMapping(previous, updated).thenReturn(updated)));
+    }
+
+    private static Mono<Long> checkVersion(Long id, Long current, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(current)) {
+            return Mono.error(new OptimisticLockingFailureException(
+                    "사용자 버전이 일치하지 않습니다: id=" + id + ", expected=" + expectedVersion + ", current=" + current));
+        }
+        return Mono.just(current);
+    }
+
+    private Mono<Void> updateEmailMapping(User previous, User updated) {
+        if (previous.getEmail() != null && updated.getEmail() != null
+                && previous.getEmail().equalsIgnoreCase(updated.getEmail())) {
+            return Mono.empty();
+        }
+        // 이전 이메일 매핑은 지우고 새 이메일 매핑을 저장
+        return evictEmail(previous.getEmail()).then(cacheEmail(updated)).then();
+    }
+
+    // write-behind 모드에서는 반영 전 최신 값이 Redis/버퍼에 있으므로 캐시 계층의 버전을 기준으로 함
+    private Mono<User> updateUserWriteBehind(Long id, User user, User previous, Long expectedVersion) {
+        // 버전 없이 캐시된 이전 형식의 값이면 DB에서 현재 버전을 읽음
+        Mono<Long> currentVersion = previous.getVersion() != null
+                ? Mono.just(previous.getVersion())
+                : db("findById", userRepository.findById(id)).map(User::getVersion);
+        return currentVersion
+                .flatMap(current -> checkVersion(id, current, expectedVersion))
+                .flatMap(current -> {
+                    user.setVersion(current + 1); // Redis와 응답에 다음 버전을 쓰고, 반영할 때도 이 버전 이상으로 저장
+                    return writeBehind.submit(user);
+                })
+                .flatMap(accepted -> {
+                    if (!accepted) {
+                        return updateUserNow(id, user, expectedVersion); // 버퍼가 가득 차면 DB에 바로 저장
+                    }
+                    return skipOnError(redis("set", redisTemplate.opsForValue().set("user:" + id, user, cacheExpiry.nextTtl())))
+                            .then(invalidateNearCache(id)) // 모든 노드의 L1 캐시 무효화
+                            .doOnSuccess(ignored -> log.debug("사용자 수정 write-behind 등록: id={}", id))
+                            .thenReturn(user);
+                });
+    }
+
+    private Mono<User> updateUserNow(Long id, User user, Long expectedVersion) {
+        // primary에서 현재 버전을 잠그고 읽어 그 버전으로 저장 (캐시/replica 지연과 무관, 동시 수정은 잠금 순서대로 반영)
+        Mono<User> saveWithEvent = db("findVersionForUpdate", userRepository.findVersionForUpdate(id))
+                .switchIfEmpty(Mono.error(new RuntimeException("사용자가 존재하지 않습니다: " + id)))
+                .flatMap(current -> checkVersion(id, current, expectedVersion))
+                .flatMap(current -> {
+                    user.setVersion(current); // 본문의 version은 무시
+                    return db("save", userRepository.save(user));
                 })
-                .flatMap(updatedUser -> kafkaProducerService.sendMessage("사용자 수정: " + updatedUser.getName())
-                        .thenReturn(updatedUser)); // ✅ Kafka 메시지를 보낸 후 반환;
+                .flatMap(updatedUser -> userOutbox.append(UserEventType.UPDATED, updatedUser) // 아웃박스에 이벤트 기록
+                        .thenReturn(updatedUser));
+        return transactionalOperator.transactional(saveWithEvent)
+                // 클라이언트가 본 버전이 낡았으면 이 노드의 L1에 남은 이전 버전도 지워 다시 조회할 때 현재 버전을 읽도록 함
+                .onErrorResume(OptimisticLockingFailureException.class, e -> invalidateNearCache(id).then(Mono.error(e)))
+                .doOnNext(updatedUser -> log.debug("사용자 수정 DB 저장 완료: id={}", id))
+                .flatMap(updatedUser -> skipOnError(redis("set", redisTemplate.opsForValue().set("user:" + id, updatedUser, cacheExpiry.nextTtl())))
+                        .doOnNext(cached -> log.debug("사용자 수정 Redis 저장 완료: id={}, result={}", id, cached))
+                        .then(invalidateNearCache(id)) // 모든 노드의 L1 캐시 무효화
+                        .thenReturn(updatedUser));
     }
 
     /**
      * 특정 ID를 가진 사용자를 삭제합니다.
-     * Redis에서 해당 사용자 정보를 삭제하고, 데이터베이스에서도 삭제합니다.
+     * 데이터베이스 삭제와 삭제 이벤트의 아웃박스 기록을 하나의 트랜잭션으로 처리한 뒤 Redis에서도 삭제합니다.
+     * write-behind 버퍼의 대기 중인 수정 내용은 트랜잭션 전에 먼저 버려, 삭제 중의 조회가 버퍼 값으로 사용자를 되살리지 않도록 합니다.
      *
      * @param id 삭제할 사용자 ID
      * @return 삭제 작업을 완료한 Mono<Void>
      */
     public Mono<Void> deleteUser(Long id) {
-        // Redis에서 사용자 정보를 "user:{id}" 형식으로 삭제
-        return redisTemplate.opsForValue().delete("user:" + id)  // Redis에서 삭제
-                .then(userRepository.findById(id))
+        Mono<User> deleteWithEvent = db("findById", userRepository.findById(id))
                 .switchIfEmpty(Mono.error(new RuntimeException("사용자가 존재하지 않습니다: " + id)))
-                .flatMap(user ->
-                    kafkaProducerService.sendMessage("사용자 삭제: " +  user.getName())
-                            .then(userRepository.deleteById(id)) // DB에서 삭제
-                )
+                .flatMap(user -> db("deleteById", userRepository.deleteById(id)) // DB에서 삭제
+                        .then(userOutbox.append(UserEventType.DELETED, user)) // 아웃박스에 이벤트 기록
+                        .thenReturn(user));
+        return writeBehind.discard(id) // 반영 대기 중인 수정 내용은 먼저 버림
+                .then(transactionalOperator.transactional(deleteWithEvent))
+                .flatMap(user -> writeBehind.discard(id) // 삭제 중에 들어온 수정 내용도 버림
+                        // Redis에서 사용자 정보를 "user:{id}" 형식으로 삭제
+                        .then(skipOnError(redis("delete", redisTemplate.opsForValue().delete("user:" + id))))
+                        .then(evictEmail(user.getEmail()))) // 이메일 → ID 매핑 삭제
+                .then(invalidateNearCache(id)) // 모든 노드의 L1 캐시 무효화
+                .doOnSuccess(ignored -> log.debug("사용자 삭제: id={}", id))
                 .then(); // 최종 반환
     }
 
+    private <T> Mono<T> db(String operation, Mono<T> source) {
+        return metrics.timed(DB, operation, guards.guard(DB, source));
+    }
+
+    private <T> Flux<T> db(String operation, Flux<T> source) {
+        return metrics.timed(DB, operation, guards.guard(DB, source));
+    }
+
+    private <T> Mono<T> redis(String operation, Mono<T> source) {
+        return metrics.timed(REDIS, operation, guards.guard(REDIS, source));
+    }
+
+    // Redis 조회 실패는 캐시 미스로 처리하여 다음 계층(DB)에서 조회
+    private <T> Mono<T> missOnError(Mono<T> cacheRead) {
+        return cacheRead.onErrorResume(e -> {
+            cacheReadFallbacks.increment();
+            log.debug("Redis 조회 실패, 캐시 없이 조회합니다.", e);
+            return Mono.empty();
+        });
+    }
+
+    // Redis 저장/삭제 실패는 요청을 실패시키지 않음
+    private <T> Mono<T> skipOnError(Mono<T> cacheWrite) {
+        return cacheWrite.onErrorResume(e -> {
+            cacheWriteFallbacks.increment();
+            log.debug("Redis 저장 실패, 캐시 갱신을 건너뜁니다.", e);
+            return Mono.empty();
+        });
+    }
+
+    // 다른 노드의 L1 캐시 무효화 (Redis pub/sub 발행이 멈춰도 요청이 기다리지 않도록 시간 제한)
+    private Mono<Void> invalidateNearCache(Long id) {
+        return skipOnError(guards.guard(REDIS, nearCache.invalidate(id)));
+    }
+
 }
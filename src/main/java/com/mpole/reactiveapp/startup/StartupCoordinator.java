@@ -0,0 +1,148 @@
+package com.mpole.reactiveapp.startup;
+
+import com.mpole.reactiveapp.cache.UserCacheWarmer;
+import com.mpole.reactiveapp.db.DatabaseInitializer;
+import com.mpole.reactiveapp.kafka.KafkaProducerService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.core.NativeDetector;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+기동 시 외부 의존성 준비 작업을 병렬로 실행하고, 모두 끝날 때까지 readiness를 막습니다.
+- schema : db/create_tables.sql 적용 (DatabaseInitializer)
+- redis  : 공유 Lettuce 연결 생성 (PING)
+- kafka  : 프로듀서 생성과 user-topic 메타데이터 조회
+각 작업은 실패하면 백오프(최대 30초)로 재시도하며, 그동안 헬스 상태는 OUT_OF_SERVICE입니다.
+모든 작업이 끝나면 스키마가 필요한 사용자 캐시 예열(UserCacheWarmer)을 시작합니다.
+
+준비가 끝나면 프로세스 시작부터의 경과 시간과 RSS를 실행 모드(jvm/native)와 함께 로그로 남깁니다.
+
+메트릭:
+- process.memory.rss : 프로세스 상주 메모리(바이트), /proc/self/status의 VmRSS (Linux에서만)
+ */
+@Slf4j
+@Component
+public class StartupCoordinator implements ApplicationRunner, HealthIndicator {
+
+    private static final Path PROC_STATUS = Path.of("/proc/self/status");
+
+    private final Map<String, Mono<Void>> steps = new LinkedHashMap<>();
+    // 작업별 상태 (헬스 상세 정보로 노출)
+    private final Map<String, String> stepStatus = new ConcurrentHashMap<>();
+    private final UserCacheWarmer cacheWarmer;
+
+    private volatile boolean ready;
+    private Disposable subscription;
+
+    public StartupCoordinator(DatabaseInitializer databaseInitializer,
+                              ReactiveStringRedisTemplate stringRedisTemplate,
+                              KafkaProducerService kafkaProducerService,
+                              UserCacheWarmer cacheWarmer,
+                              MeterRegistry meterRegistry) {
+        this.cacheWarmer = cacheWarmer;
+        steps.put("schema", databaseInitializer.initialize());
+        steps.put("redis", stringRedisTemplate.execute(connection -> connection.ping()).then());
+        steps.put("kafka", kafkaProducerService.warmUp());
+        steps.keySet().forEach(name -> stepStatus.put(name, "PENDING"));
+        Gauge.builder("process.memory.rss", StartupCoordinator::residentSetSizeBytes)
+                .description("프로세스 상주 메모리 (VmRSS)")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        subscription = Flux.fromIterable(steps.entrySet())
+                .flatMap(step -> runStep(step.getKey(), step.getValue()))
+                .then()
+                .doOnSuccess(ignored -> {
+                    ready = true;
+                    log.info("기동 준비 작업 완료: {}ms, mode={}, since-process-start={}ms, rss={}MB",
+                            Duration.ofNanos(System.nanoTime() - start).toMillis(),
+                            NativeDetector.inNativeImage() ? "native" : "jvm",
+                            sinceProcessStart().toMillis(),
+                            residentSetSizeBytes() / (1024 * 1024));
+                    cacheWarmer.start();
+                })
+                .subscribe();
+    }
+
+    private Mono<Void> runStep(String name, Mono<Void> step) {
+        return Mono.defer(() -> {
+                    long start = System.nanoTime();
+                    return step.doOnSuccess(ignored -> {
+                        long elapsed = Duration.ofNanos(System.nanoTime() - start).toMillis();
+                        stepStatus.put(name, "UP (" + elapsed + "ms)");
+                        log.info("기동 준비 작업 완료: step={}, {}ms", name, elapsed);
+                    });
+                })
+                .doOnError(e -> {
+                    stepStatus.put(name, "RETRYING: " + e.getMessage());
+                    log.warn("기동 준비 작업 실패, 재시도합니다: step={}", name, e);
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30)));
+    }
+
+    @Override
+    public Health health() {
+        return (ready ? Health.up() : Health.outOfService())
+                .withDetails(stepStatus)
+                .build();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    private static Duration sinceProcessStart() {
+        return ProcessHandle.current().info().startInstant()
+                .map(started -> Duration.between(started, Instant.now()))
+                .orElse(Duration.ZERO);
+    }
+
+    /**
+     * /proc/self/status의 VmRSS를 읽습니다.
+     *
+     * @return 상주 메모리(바이트), 읽을 수 없으면 0
+     */
+    static long residentSetSizeBytes() {
+        try {
+            for (String line : Files.readAllLines(PROC_STATUS)) {
+                if (line.startsWith("VmRSS:")) {
+                    // 예: "VmRSS:	  123456 kB"
+                    return Long.parseLong(line.substring(6).replace("kB", "").trim()) * 1024;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Linux가 아니면 /proc이 없음
+        }
+        return 0;
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.mpole.reactiveapp.stream;
+
+import com.mpole.reactiveapp.config.UserStreamProperties;
+import com.mpole.reactiveapp.model.UserEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/*
+노드마다 하나인 사용자 변경 이벤트 sink입니다. KafkaConsumerService의 스트림 구독이 이벤트를 넣고,
+GET /users/stream 구독자 모두에게 그대로 나누어 줍니다. (멀티캐스트, 노드당 Kafka 구독은 하나)
+- 구독자마다 bufferSize개의 버퍼를 두고, 가득 차면 가장 오래된 이벤트부터 버립니다. (DROP_OLDEST)
+  느린 클라이언트는 자기 이벤트만 잃고, 다른 구독자와 Kafka 구독은 기다리지 않습니다.
+- 구독하기 전의 이벤트는 받지 않습니다. (재생 없음, 실시간 알림 용도)
+
+메트릭:
+- user.stream.subscribers : 현재 구독자 수
+- user.stream.published   : sink에 넣은 이벤트 수
+- user.stream.dropped     : 구독자 버퍼가 가득 차 버린 이벤트 수 (구독자별로 셈)
+ */
+@Component
+public class UserChangeStream {
+
+    private final Sinks.Many<UserEvent> sink = Sinks.many().multicast().directBestEffort();
+    private final int bufferSize;
+    private final Counter published;
+    private final Counter dropped;
+
+    public UserChangeStream(UserStreamProperties properties, MeterRegistry meterRegistry) {
+        this.bufferSize = properties.getBufferSize();
+        this.published = Counter.builder("user.stream.published")
+                .description("사용자 변경 스트림에 넣은 이벤트 수")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("user.stream.dropped")
+                .description("구독자 버퍼가 가득 차 버린 이벤트 수")
+                .register(meterRegistry);
+        Gauge.builder("user.stream.subscribers", sink, Sinks.Many::currentSubscriberCount)
+                .description("사용자 변경 스트림 구독자 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 이벤트를 현재 구독자 모두에게 보냅니다. 구독자가 없으면 버립니다.
+     *
+     * @param event 사용자 변경 이벤트
+     */
+    public synchronized void publish(UserEvent event) {
+        // 여러 스레드가 동시에 넣지 않도록 직렬화 (FAIL_NON_SERIALIZED 방지)
+        sink.tryEmitNext(event);
+        published.increment();
+    }
+
+    /**
+     * 구독 시점 이후의 사용자 변경 이벤트를 받습니다.
+     *
+     * @return 구독자 전용 버퍼(DROP_OLDEST)를 거치는 이벤트 Flux
+     */
+    public Flux<UserEvent> subscribe() {
+        return sink.asFlux()
+                .onBackpressureBuffer(bufferSize, event -> dropped.increment(), BufferOverflowStrategy.DROP_OLDEST);
+    }
+
+}
@@ -0,0 +1,397 @@
+package com.mpole.reactiveapp.writebehind;
+
+import com.mpole.reactiveapp.config.WriteBehindProperties;
+import com.mpole.reactiveapp.model.User;
+import com.mpole.reactiveapp.model.UserEventType;
+import com.mpole.reactiveapp.outbox.UserOutbox;
+import com.mpole.reactiveapp.resilience.DependencyGuards;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.mpole.reactiveapp.metrics.DependencyMetrics.REDIS;
+
+/*
+write-behind 모드의 사용자 수정 버퍼입니다.
+- 수정 내용은 ID별로 하나만 보관하며, 반영 전에 같은 ID가 다시 수정되면 최신 값으로 덮어씁니다. (coalescing)
+- flushInterval마다 batchSize명씩 CASE 기반 다중 행 UPDATE 한 번 + 사용자별 UPDATED 아웃박스 기록을 하나의 트랜잭션으로 반영합니다.
+  같은 트랜잭션에서 SELECT ... FOR UPDATE로 아직 존재하는 행을 먼저 잠그고, 그 행만 수정하고 이벤트를 기록합니다. (반영 전에 삭제된 사용자는 건너뜀)
+- 배치 안의 수정이 이메일 유니크 인덱스(uk_users_email)를 위반하면 그 배치만 행 단위 UPDATE로 다시 반영하여,
+  위반한 수정만 버리고(Redis 값도 삭제해 DB 값으로 다시 읽히도록 함) 나머지는 반영합니다.
+- 버퍼가 maxPending개로 가득 차면 submit이 false를 반환하고, 호출하는 쪽은 DB에 바로 저장합니다.
+- REDIS_JOURNAL: 대기 중인 ID를 인스턴스별 Redis Set("{journalKey}:{instanceId}")에 기록해 두고,
+  같은 인스턴스가 다시 기동할 때 남은 ID의 Redis 값("user:{id}")을 다시 반영합니다. (다른 인스턴스의 대기 중인 수정은 건드리지 않음)
+- 종료 시(@PreDestroy) 남은 수정 내용을 모두 반영합니다.
+- 저널 등 Redis 호출은 Redis 의존성 보호(DependencyGuards)를 거치므로 Redis가 멈춰도 submit/반영/복구가 시간 제한 안에 실패합니다.
+
+다른 노드는 반영 전까지 DB의 이전 값을 볼 수 있으므로(최대 flushInterval) 최신 값은 Redis/이 노드의 버퍼가 기준입니다.
+
+메트릭:
+- user.writebehind.pending   : 반영 대기 중인 사용자 수
+- user.writebehind.coalesced : 반영 전에 덮어써진(합쳐진) 수정 수
+- user.writebehind.flushed   : DB에 반영된 사용자 수
+- user.writebehind.overflow  : 버퍼가 가득 차서 바로 저장된 수정 수
+- user.writebehind.failures  : 반영에 실패해 다음 주기로 미룬 배치 수
+- user.writebehind.rejected  : 이메일 중복으로 반영하지 못하고 버린 수정 수
+ */
+@Slf4j
+@Component
+public class UserWriteBehindBuffer {
+
+    private final Map<Long, User> pending = new ConcurrentHashMap<>();
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final UserOutbox userOutbox;
+    private final ReactiveRedisTemplate<String, User> redisTemplate;
+    private final ReactiveStringRedisTemplate stringRedisTemplate;
+    private final WriteBehindProperties properties;
+    private final DependencyGuards guards;
+    private final Counter coalesced;
+    private final Counter flushed;
+    private final Counter overflow;
+    private final Counter failures;
+    private final Counter rejected;
+
+    private Disposable subscription;
+
+    public UserWriteBehindBuffer(DatabaseClient databaseClient,
+                                 TransactionalOperator transactionalOperator,
+                                 UserOutbox userOutbox,
+                                 ReactiveRedisTemplate<String, User> redisTemplate,
+                                 ReactiveStringRedisTemplate stringRedisTemplate,
+                                 WriteBehindProperties properties,
+                                 DependencyGuards guards,
+                                 MeterRegistry meterRegistry) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+        this.userOutbox = userOutbox;
+        this.redisTemplate = redisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.properties = properties;
+        this.guards = guards;
+        this.coalesced = Counter.builder("user.writebehind.coalesced").register(meterRegistry);
+        this.flushed = Counter.builder("user.writebehind.flushed").register(meterRegistry);
+        this.overflow = Counter.builder("user.writebehind.overflow").register(meterRegistry);
+        this.failures = Counter.builder("user.writebehind.failures").register(meterRegistry);
+        this.rejected = Counter.builder("user.writebehind.rejected").register(meterRegistry);
+        meterRegistry.gaugeMapSize("user.writebehind.pending", Tags.empty(), pending);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * 수정 내용을 버퍼에 넣습니다. (REDIS_JOURNAL이면 ID를 저널에 먼저 기록)
+     *
+     * @param user 수정된 사용자 (ID 필수)
+     * @return 버퍼에 들어갔으면 true, 버퍼가 가득 차서 받지 못했으면 false
+     */
+    public Mono<Boolean> submit(User user) {
+        return Mono.defer(() -> {
+            Long id = user.getId();
+            if (!pending.containsKey(id) && pending.size() >= properties.getMaxPending()) {
+                overflow.increment();
+                return Mono.just(false);
+            }
+            return journal(id).then(Mono.fromSupplier(() -> {
+                if (pending.put(id, user) != null) {
+                    coalesced.increment();
+                }
+                return true;
+            }));
+        });
+    }
+
+    /**
+     * 아직 DB에 반영되지 않은 수정 내용을 조회합니다.
+     *
+     * @param id 사용자 ID
+     * @return 반영 대기 중인 사용자, 없으면 null
+     */
+    public User getPending(Long id) {
+        return pending.get(id);
+    }
+
+    /**
+     * 반영 대기 중인 수정 내용을 버립니다. (사용자 삭제 시)
+     *
+     * @param id 사용자 ID
+     * @return 저널 정리 완료를 나타내는 Mono
+     */
+    public Mono<Void> discard(Long id) {
+        return Mono.defer(() -> pending.remove(id) != null ? unjournal(List.of(id)) : Mono.empty());
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        subscription = recoverJournal()
+                .thenMany(Flux.interval(properties.getFlushInterval()))
+                .onBackpressureDrop() // 이전 반영이 끝나지 않았으면 이번 주기는 건너뜀
+                .concatMap(tick -> flushAll(), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        // 남은 수정 내용을 모두 반영한 뒤 종료 (실패한 배치는 버퍼에 남으므로 shutdownTimeout 안에서 재시도)
+        log.info("write-behind 종료 전 반영 시작: pending={}", pending.size());
+        try {
+            Long total = Mono.defer(this::flushAll)
+                    .repeatWhen(completed -> completed
+                            .takeWhile(count -> !pending.isEmpty())
+                            .delayElements(Duration.ofMillis(100)))
+                    .reduce(0L, Long::sum)
+                    .block(properties.getShutdownTimeout());
+            log.info("write-behind 종료 전 반영 완료: flushed={}", total);
+        } catch (RuntimeException e) {
+            log.error("write-behind 종료 전 반영 실패: remaining={}", pending.size(), e);
+        }
+    }
+
+    /**
+     * 버퍼가 빌 때까지(배치가 가득 차지 않을 때까지) 배치 단위로 반영합니다.
+     *
+     * @return 이번 주기에 반영한 사용자 수
+     */
+    public Mono<Long> flushAll() {
+        return flushBatch()
+                .expand(count -> count == properties.getBatchSize() ? flushBatch() : Mono.empty())
+                .reduce(0L, Long::sum);
+    }
+
+    private Mono<Long> flushBatch() {
+        return Mono.defer(() -> {
+            List<User> batch = takeBatch();
+            if (batch.isEmpty()) {
+                return Mono.just(0L);
+            }
+            List<User> duplicates = new ArrayList<>();
+            return transactionalOperator.transactional(writeBatch(batch, matched -> updateAll(matched).thenReturn(matched)))
+                    // 이메일 중복 수정이 섞여 있으면 행 단위로 다시 반영하여 그 수정만 제외
+                    .onErrorResume(DuplicateKeyException.class, e -> transactionalOperator.transactional(
+                            writeBatch(batch, matched -> updateEachSkippingDuplicates(matched, duplicates))))
+                    .flatMap(updated -> rejectDuplicates(duplicates).thenReturn(updated))
+                    .flatMap(updated -> {
+                        if (updated < batch.size()) {
+                            // 반영 전에 삭제된 사용자는 UPDATE 대상이 없음
+                            log.debug("write-behind 반영 대상 일부 없음: batch={}, updated={}", batch.size(), updated);
+                        }
+                        flushed.increment(updated);
+                        return unjournal(batch.stream()
+                                .map(User::getId)
+                                .filter(id -> !pending.containsKey(id)) // 그 사이 다시 수정된 ID는 저널 유지
+                                .toList())
+                                .thenReturn((long) batch.size());
+                    })
+                    .onErrorResume(e -> {
+                        // 실패한 배치는 버퍼로 되돌림 (그 사이 들어온 최신 값이 있으면 그 값을 유지)
+                        failures.increment();
+                        batch.forEach(user -> pending.putIfAbsent(user.getId(), user));
+                        log.warn("write-behind 반영 실패, 다음 주기에 재시도합니다: batch={}", batch.size(), e);
+                        return Mono.just(0L);
+                    });
+        });
+    }
+
+    /**
+     * 배치의 사용자 중 아직 존재하는 행을 잠그고, 그 행을 update로 수정한 뒤 실제로 수정된 사용자에 대해서만 UPDATED 이벤트를 기록합니다.
+     *
+     * @return 수정된 사용자 수
+     */
+    private Mono<Integer> writeBatch(List<User> batch, Function<List<User>, Mono<List<User>>> update) {
+        return lockExisting(batch)
+                .flatMap(existing -> {
+                    List<User> matched = batch.stream().filter(user -> existing.contains(user.getId())).toList();
+                    if (matched.isEmpty()) {
+                        return Mono.just(0);
+                    }
+                    return update.apply(matched)
+                            .flatMap(updated -> Flux.fromIterable(updated)
+                                    .concatMap(user -> userOutbox.append(UserEventType.UPDATED, user))
+                                    .then(Mono.just(updated.size())));
+                });
+    }
+
+    /**
+     * 한 행씩 UPDATE하여 이메일 중복으로 실패한 수정은 duplicates에 모으고 나머지만 반환합니다.
+     * 중복 키 오류는 해당 문장만 취소되므로 같은 트랜잭션에서 나머지 행을 계속 반영할 수 있습니다.
+     */
+    private Mono<List<User>> updateEachSkippingDuplicates(List<User> users, List<User> duplicates) {
+        return Flux.fromIterable(users)
+                .concatMap(user -> updateAll(List.of(user))
+                        .thenReturn(user)
+                        .onErrorResume(DuplicateKeyException.class, e -> {
+                            duplicates.add(user);
+                            return Mono.empty();
+                        }))
+                .collectList();
+    }
+
+    /**
+     * 이메일 중복으로 반영하지 못한 수정을 버리고, Redis에 먼저 써 둔 값을 삭제하여 다음 조회가 DB 값을 읽도록 합니다.
+     */
+    private Mono<Void> rejectDuplicates(List<User> duplicates) {
+        if (duplicates.isEmpty()) {
+            return Mono.empty();
+        }
+        rejected.increment(duplicates.size());
+        log.warn("write-behind 이메일 중복으로 수정을 버립니다: ids={}", duplicates.stream().map(User::getId).toList());
+        return guards.guard(REDIS, redisTemplate.delete(duplicates.stream().map(user -> "user:" + user.getId()).toArray(String[]::new)))
+                .then()
+                .onErrorResume(e -> {
+                    log.warn("write-behind 버린 수정의 Redis 값 삭제 실패: ids={}", duplicates.size(), e);
+                    return Mono.empty();
+                });
+    }
+
+    private List<User> takeBatch() {
+        List<User> batch = new ArrayList<>(Math.min(properties.getBatchSize(), pending.size()));
+        for (Map.Entry<Long, User> entry : pending.entrySet()) {
+            if (batch.size() >= properties.getBatchSize()) {
+                break;
+            }
+            // 꺼내는 사이 새 값으로 바뀌었으면 건너뛰고 다음 배치에서 최신 값을 반영
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.add(entry.getValue());
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * 배치의 사용자 중 아직 존재하는 행을 잠그고 그 ID를 조회합니다. (트랜잭션 안에서 호출)
+     */
+    private Mono<Set<Long>> lockExisting(List<User> users) {
+        return databaseClient.sql("SELECT id FROM users WHERE id IN (:ids) FOR UPDATE")
+                .bind("ids", users.stream().map(User::getId).toList())
+                .map(row -> row.get("id", Long.class))
+                .all()
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * CASE 식을 사용한 다중 행 UPDATE 한 번으로 사용자를 반영합니다.
+     * 버전은 수정 시 Redis에 저장한 값을 써서 캐시와 DB의 버전(ETag)이 같은 내용을 가리키도록 하되,
+     * 그 사이 DB에 바로 반영된 수정이 있어도 버전이 줄어들지 않도록 DB 버전 + 1 이상으로 저장합니다.
+     */
+    private Mono<Long> updateAll(List<User> users) {
+        StringBuilder names = new StringBuilder("CASE id");
+        StringBuilder emails = new StringBuilder("CASE id");
+        StringBuilder versions = new StringBuilder("CASE id");
+        StringBuilder ids = new StringBuilder();
+        for (int i = 0; i < users.size(); i++) {
+            names.append(" WHEN :id").append(i).append(" THEN :name").append(i);
+            emails.append(" WHEN :id").append(i).append(" THEN :email").append(i);
+            // 버전 없이 저장된 이전 형식의 값(저널 복구)은 DB 버전을 하나 올림
+            versions.append(" WHEN :id").append(i).append(" THEN ")
+                    .append(users.get(i).getVersion() != null ? "GREATEST(version + 1, :version" + i + ")" : "version + 1");
+            ids.append(i == 0 ? "" : ", ").append(":id").append(i);
+        }
+        String sql = "UPDATE users SET name = " + names + " END, email = " + emails + " END, version = " + versions
+                + " END WHERE id IN (" + ids + ")";
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql);
+        for (int i = 0; i < users.size(); i++) {
+            spec = spec.bind("id" + i, users.get(i).getId())
+                    .bind("name" + i, users.get(i).getName())
+                    .bind("email" + i, users.get(i).getEmail());
+            if (users.get(i).getVersion() != null) {
+                spec = spec.bind("version" + i, users.get(i).getVersion());
+            }
+        }
+        return spec.fetch().rowsUpdated();
+    }
+
+    private Mono<Void> journal(Long id) {
+        if (properties.getDurability() != WriteBehindProperties.Durability.REDIS_JOURNAL) {
+            return Mono.empty();
+        }
+        return guards.guard(REDIS, stringRedisTemplate.opsForSet().add(journalKey(), String.valueOf(id))).then();
+    }
+
+    private Mono<Void> unjournal(List<Long> ids) {
+        if (properties.getDurability() != WriteBehindProperties.Durability.REDIS_JOURNAL || ids.isEmpty()) {
+            return Mono.empty();
+        }
+        return guards.guard(REDIS, stringRedisTemplate.opsForSet()
+                        .remove(journalKey(), ids.stream().map(String::valueOf).toArray()))
+                .then()
+                // 저널 정리 실패는 다음 기동 시 한 번 더 반영될 뿐이므로 무시
+                .onErrorResume(e -> {
+                    log.warn("write-behind 저널 정리 실패: ids={}", ids.size(), e);
+                    return Mono.empty();
+                });
+    }
+
+    // 저널은 인스턴스별로 분리하여, 기동한 인스턴스가 실행 중인 다른 인스턴스의 대기 중인 수정을 가져가지 않도록 함
+    private String journalKey() {
+        return properties.getJournalKey() + ":" + properties.getInstanceId();
+    }
+
+    /**
+     * 같은 인스턴스의 이전 프로세스가 반영하지 못한 ID를 저널에서 읽어, 현재 Redis 값을 버퍼에 다시 넣습니다.
+     */
+    private Mono<Void> recoverJournal() {
+        if (properties.getDurability() != WriteBehindProperties.Durability.REDIS_JOURNAL) {
+            return Mono.empty();
+        }
+        return guards.guard(REDIS, stringRedisTemplate.opsForSet().members(journalKey()))
+                .map(Long::valueOf)
+                .buffer(properties.getBatchSize())
+                .concatMap(ids -> guards.guard(REDIS, redisTemplate.opsForValue()
+                                .multiGet(ids.stream().map(id -> "user:" + id).toList()))
+                        .flatMap(users -> {
+                            List<Long> missing = new ArrayList<>();
+                            for (int i = 0; i < ids.size(); i++) {
+                                User user = users.get(i);
+                                if (user != null) {
+                                    pending.putIfAbsent(ids.get(i), user);
+                                } else {
+                                    missing.add(ids.get(i)); // 값이 만료/삭제된 ID는 반영할 수 없으므로 저널에서 제거
+                                }
+                            }
+                            return unjournal(missing);
+                        }))
+                .then(Mono.fromRunnable(() -> {
+                    if (!pending.isEmpty()) {
+                        log.info("write-behind 저널 복구: pending={}", pending.size());
+                    }
+                }))
+                .then()
+                .onErrorResume(e -> {
+                    log.warn("write-behind 저널 복구 실패", e);
+                    return Mono.empty();
+                });
+    }
+
+}
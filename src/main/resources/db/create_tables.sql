@@ -1,5 +1,30 @@
 CREATE TABLE IF NOT EXISTS users (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     name VARCHAR(255) NOT NULL,
-    email VARCHAR(255) NOT NULL
-);
\ No newline at end of file
+    email VARCHAR(255) NOT NULL,
+    updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+-- 기존 테이블 보정: 최근 수정 시각 (캐시 예열 대상 선정에 사용, 애플리케이션은 값을 직접 쓰지 않음)
+ALTER TABLE users ADD COLUMN IF NOT EXISTS
+    updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3);
+
+-- 기존 테이블 보정: 사용자별 버전 (수정할 때마다 증가, 낙관적 잠금과 ETag에 사용)
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS idx_users_updated_at ON users (updated_at);
+
+-- 이메일 중복 방지와 이메일 조회용 유니크 인덱스
+-- 기존 데이터에 중복 이메일이 있으면 생성에 실패하여 schema 단계가 오류를 남기며 재시도되고 readiness가 계속 OUT_OF_SERVICE로 남음
+-- (운영자가 db/manual/dedupe_users_email.sql로 먼저 정리)
+CREATE UNIQUE INDEX IF NOT EXISTS uk_users_email ON users (email);
+
+-- 사용자 변경 이벤트 아웃박스 (users 변경과 같은 트랜잭션에서 기록, 발행 후 삭제)
+CREATE TABLE IF NOT EXISTS user_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    aggregate_id BIGINT NOT NULL,
+    event_type VARCHAR(32) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP(3) NOT NULL
+);
@@ -0,0 +1,23 @@
+-- uk_users_email 유니크 인덱스를 만들기 전에 기존 중복 이메일을 정리하는 일회성 마이그레이션입니다. (MariaDB)
+-- 애플리케이션이 자동으로 실행하지 않으며, 운영자가 배포 전에 한 번 실행합니다.
+--
+-- 1. 이메일별로 가장 먼저 등록된(ID가 가장 작은) 사용자만 남기고 나머지를 users_duplicate_email 테이블로 복사
+-- 2. 복사한 사용자를 users에서 삭제
+--
+-- 실행 후 확인/후속 작업:
+-- - users_duplicate_email의 ID에 대해 Redis의 "user:{id}" 키와 "email:{email}" 매핑을 삭제하고,
+--   필요하면 해당 사용자의 DELETED 이벤트를 컨슈머에 알립니다. (이 스크립트는 캐시와 아웃박스를 건드리지 않음)
+-- - L1 캐시는 애플리케이션을 재시작하거나 TTL이 지나면 비워집니다.
+
+CREATE TABLE IF NOT EXISTS users_duplicate_email LIKE users;
+
+START TRANSACTION;
+
+INSERT IGNORE INTO users_duplicate_email
+SELECT u.* FROM users u JOIN users k ON u.email = k.email AND u.id > k.id;
+
+DELETE u FROM users u JOIN users k ON u.email = k.email AND u.id > k.id;
+
+COMMIT;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_users_email ON users (email);
@@ -0,0 +1,117 @@
+package com.mpole.reactiveapp.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SingleFlightTest {
+
+    private SingleFlight<Long, String> singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        singleFlight = new SingleFlight<>("test", Duration.ofMillis(200), new SimpleMeterRegistry());
+    }
+
+    /**
+     * 같은 키의 동시 요청이 하나의 로딩 결과를 공유하는지 검증합니다.
+     */
+    @Test
+    void execute_ShouldShareSingleLoad_ForConcurrentCallers() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        Sinks.One<String> result = Sinks.one();
+        Mono<String> leader = singleFlight.execute(1L, () -> {
+            loads.incrementAndGet();
+            return result.asMono();
+        });
+        Mono<String> joiner = singleFlight.execute(1L, () -> {
+            loads.incrementAndGet();
+            return Mono.just("other");
+        });
+
+        // When & Then
+        StepVerifier.create(Mono.zip(leader, joiner))
+                .then(() -> result.tryEmitValue("John"))
+                .expectNextMatches(both -> both.getT1().equals("John") && both.getT2().equals("John"))
+                .verifyComplete();
+
+        assertEquals(1, loads.get());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    /**
+     * 로딩이 실패하면 합류한 요청도 같은 오류를 받고, 다음 요청은 새 로딩을 시작하는지 검증합니다.
+     */
+    @Test
+    void execute_ShouldPropagateError_AndNotKeepFailedResult() {
+        // Given
+        Sinks.One<String> result = Sinks.one();
+        Mono<String> leader = singleFlight.execute(1L, result::asMono);
+        Mono<String> joiner = singleFlight.execute(1L, () -> Mono.just("other"));
+
+        // When & Then
+        StepVerifier.create(leader.then(joiner))
+                .then(() -> result.tryEmitError(new IllegalStateException("db down")))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        assertEquals(0, singleFlight.inFlightCount());
+        StepVerifier.create(singleFlight.execute(1L, () -> Mono.just("John")))
+                .expectNext("John")
+                .verifyComplete();
+    }
+
+    /**
+     * 합류한 요청 하나가 취소해도 공유 로딩은 계속되어 나머지 요청이 결과를 받는지 검증합니다.
+     */
+    @Test
+    void execute_ShouldKeepLoading_WhenOneCallerCancels() {
+        // Given
+        Sinks.One<String> result = Sinks.one();
+        Mono<String> leader = singleFlight.execute(1L, result::asMono);
+        Mono<String> joiner = singleFlight.execute(1L, () -> Mono.just("other"));
+
+        // When: leader가 결과를 받기 전에 취소
+        StepVerifier.create(leader)
+                .thenCancel()
+                .verify();
+
+        // Then
+        StepVerifier.create(joiner)
+                .then(() -> result.tryEmitValue("John"))
+                .expectNext("John")
+                .verifyComplete();
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    /**
+     * 로딩이 멈추면 합류한 모든 요청이 시간 제한 후 TimeoutException으로 실패하고 키가 비워지는지 검증합니다.
+     */
+    @Test
+    void execute_ShouldTimeOutAllCallers_WhenLoaderHangs() {
+        // Given
+        Mono<String> leader = singleFlight.execute(1L, Mono::never);
+        Mono<String> joiner = singleFlight.execute(1L, () -> Mono.just("other"));
+
+        // When & Then
+        StepVerifier.create(Mono.zip(leader, joiner))
+                .expectError(TimeoutException.class)
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(0, singleFlight.inFlightCount());
+        StepVerifier.create(singleFlight.execute(1L, () -> Mono.just("John")))
+                .expectNext("John")
+                .verifyComplete();
+    }
+
+}
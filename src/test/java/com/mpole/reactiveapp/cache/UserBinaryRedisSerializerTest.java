@@ -0,0 +1,75 @@
+package com.mpole.reactiveapp.cache;
+
+import com.mpole.reactiveapp.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UserBinaryRedisSerializerTest {
+
+    private final UserBinaryRedisSerializer serializer = new UserBinaryRedisSerializer(512);
+    private final Jackson2JsonRedisSerializer<User> jsonSerializer = new Jackson2JsonRedisSerializer<>(User.class);
+
+    @Test
+    void serialize_ShouldRoundTrip_AndBeSmallerThanJson() {
+        // Given
+        User user = new User(123456L, "홍길동", "hong@example.com");
+
+        // When
+        byte[] binary = serializer.serialize(user);
+
+        // Then
+        assertEquals(user, serializer.deserialize(binary));
+        assertTrue(binary.length < jsonSerializer.serialize(user).length,
+                "binary=" + binary.length + ", json=" + jsonSerializer.serialize(user).length);
+    }
+
+    @Test
+    void serialize_ShouldRoundTripNullFields() {
+        User user = new User(null, null, "only-email@example.com");
+
+        assertEquals(user, serializer.deserialize(serializer.serialize(user)));
+    }
+
+    @Test
+    void serialize_ShouldCompressLargeValues() {
+        // Given: 압축 임계값을 넘는 반복적인 값
+        User user = new User(1L, "a".repeat(2000), "john@example.com");
+
+        // When
+        byte[] binary = serializer.serialize(user);
+
+        // Then
+        assertTrue(binary.length < 2000, "compressed=" + binary.length);
+        assertEquals(user, serializer.deserialize(binary));
+    }
+
+    @Test
+    void deserialize_ShouldReadLegacyJsonValues() {
+        // Given: JSON 직렬화로 저장되어 있던 기존 캐시 값
+        User user = new User(1L, "John", "john@example.com");
+        byte[] json = jsonSerializer.serialize(user);
+
+        // When & Then
+        assertEquals(user, serializer.deserialize(json));
+        assertNull(serializer.deserialize(new byte[0]));
+    }
+
+    /**
+     * 버전이 함께 저장되고, 버전 없이 저장된 이전 값은 버전이 null로 읽히는지 검증합니다.
+     */
+    @Test
+    void serialize_ShouldRoundTripVersion_AndReadValuesWithoutVersion() {
+        // Given
+        User versioned = new User(1L, "John", "john@example.com", 7L);
+        User unversioned = new User(1L, "John", "john@example.com");
+
+        // When & Then
+        assertEquals(versioned, serializer.deserialize(serializer.serialize(versioned)));
+        assertNull(serializer.deserialize(serializer.serialize(unversioned)).getVersion());
+    }
+
+}
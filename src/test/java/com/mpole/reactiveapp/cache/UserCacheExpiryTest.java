@@ -0,0 +1,85 @@
+package com.mpole.reactiveapp.cache;
+
+import com.mpole.reactiveapp.config.UserCacheProperties;
+import com.mpole.reactiveapp.model.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserCacheExpiryTest {
+
+    @Mock
+    private ReactiveValueOperations<String, User> valueOperations;
+
+    /**
+     * TTL이 기본 TTL과 기본 TTL + 지터 사이에서 분산되는지 검증합니다.
+     */
+    @Test
+    void nextTtl_ShouldAddJitterWithinBounds() {
+        UserCacheExpiry expiry = new UserCacheExpiry(new UserCacheProperties());
+
+        for (int i = 0; i < 1_000; i++) {
+            Duration ttl = expiry.nextTtl();
+            assertTrue(ttl.compareTo(Duration.ofHours(1)) >= 0);
+            assertTrue(ttl.compareTo(Duration.ofHours(1).plusMinutes(5)) <= 0);
+        }
+    }
+
+    /**
+     * 조기 갱신 판단이 남은 TTL과 DB 재조회 시간에 따라 달라지는지 검증합니다.
+     * 시나리오: 재조회 시간이 10ms인 상태에서 남은 TTL이 충분한 키와 TTL이 없는 기존 키를 판단합니다.
+     * 기대 결과: TTL이 1시간 남은 키는 갱신하지 않고, TTL이 없는(0) 키는 항상 갱신하며, beta가 0이면 갱신하지 않습니다.
+     */
+    @Test
+    void shouldRefreshEarly_ShouldDependOnRemainingTtl() {
+        // Given
+        UserCacheExpiry expiry = new UserCacheExpiry(new UserCacheProperties());
+        expiry.recordRecompute(Duration.ofMillis(10).toNanos());
+
+        UserCacheProperties disabledProperties = new UserCacheProperties();
+        disabledProperties.getRedis().setEarlyRefreshBeta(0);
+        UserCacheExpiry disabled = new UserCacheExpiry(disabledProperties);
+
+        // When & Then
+        assertFalse(expiry.shouldRefreshEarly(Duration.ofHours(1)));
+        assertTrue(expiry.shouldRefreshEarly(Duration.ZERO));
+        assertFalse(disabled.shouldRefreshEarly(Duration.ZERO));
+    }
+
+    /**
+     * 여러 사용자를 저장할 때 MSET 대신 키별 TTL을 가진 SET NX로 보내는지 검증합니다.
+     */
+    @Test
+    void cacheAll_ShouldSetEachKeyWithTtl_WhenOnlyIfAbsent() {
+        // Given
+        UserCacheProperties properties = new UserCacheProperties();
+        properties.getRedis().setTtlJitter(Duration.ZERO);
+        UserCacheExpiry expiry = new UserCacheExpiry(properties);
+        User first = new User(1L, "John", "john@example.com");
+        User second = new User(2L, "Jane", "jane@example.com");
+
+        when(valueOperations.setIfAbsent("user:1", first, Duration.ofHours(1))).thenReturn(Mono.just(true));
+        when(valueOperations.setIfAbsent("user:2", second, Duration.ofHours(1))).thenReturn(Mono.just(false));
+
+        // When & Then: 이미 있던 키(user:2)는 덮어쓰지 않으므로 전체 결과는 false
+        StepVerifier.create(expiry.cacheAll(valueOperations, List.of(first, second), true))
+                .expectNext(false)
+                .verifyComplete();
+
+        verify(valueOperations, never()).multiSet(anyMap());
+        verify(valueOperations, never()).set(anyString(), any(User.class), any(Duration.class));
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.mpole.reactiveapp.cache;
+
+import com.mpole.reactiveapp.config.UserCacheProperties;
+import com.mpole.reactiveapp.model.User;
+import com.mpole.reactiveapp.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserCacheWarmerTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ReactiveRedisTemplate<String, User> redisTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, User> valueOperations;
+
+    private UserCacheProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new UserCacheProperties();
+        properties.getRedis().setTtlJitter(Duration.ZERO);
+        properties.getWarmup().setEnabled(true);
+        properties.getWarmup().setSize(2);
+    }
+
+    /**
+     * 예열이 끝날 때까지 readiness에서 트래픽을 받지 않고, 끝나면 UP으로 바뀌는지 검증합니다.
+     * 시나리오: 최근 수정된 사용자 두 명을 DB에서 읽는 도중과 읽기가 끝난 뒤의 헬스 상태를 확인합니다.
+     * 기대 결과: 예열 중에는 OUT_OF_SERVICE, 두 사용자를 SET NX로 채운 뒤에는 UP입니다.
+     */
+    @Test
+    void run_ShouldHoldReadiness_UntilWarmupCompletes() {
+        // Given
+        User first = new User(2L, "Jane", "jane@example.com");
+        User second = new User(1L, "John", "john@example.com");
+        Sinks.Many<User> recent = Sinks.many().unicast().onBackpressureBuffer();
+
+        when(userRepository.findRecentlyUpdated(2)).thenReturn(recent.asFlux());
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), any(User.class), eq(Duration.ofHours(1))))
+                .thenReturn(Mono.just(true));
+        UserCacheWarmer warmer = new UserCacheWarmer(userRepository, redisTemplate,
+                new UserCacheExpiry(properties), properties);
+
+        // When
+        warmer.start();
+
+        // Then
+        assertEquals(Status.OUT_OF_SERVICE, warmer.health().getStatus());
+
+        recent.tryEmitNext(first);
+        recent.tryEmitNext(second);
+        recent.tryEmitComplete();
+
+        assertEquals(Status.UP, warmer.health().getStatus());
+        verify(valueOperations).setIfAbsent("user:2", first, Duration.ofHours(1));
+        verify(valueOperations).setIfAbsent("user:1", second, Duration.ofHours(1));
+    }
+
+    /**
+     * 예열이 실패해도 트래픽을 막지 않고 UP으로 바뀌는지 검증합니다.
+     */
+    @Test
+    void run_ShouldBecomeReady_WhenWarmupFails() {
+        // Given
+        when(userRepository.findRecentlyUpdated(2)).thenReturn(Flux.error(new IllegalStateException("db down")));
+        UserCacheWarmer warmer = new UserCacheWarmer(userRepository, redisTemplate,
+                new UserCacheExpiry(properties), properties);
+
+        // When
+        warmer.start();
+
+        // Then
+        assertEquals(Status.UP, warmer.health().getStatus());
+        verifyNoInteractions(redisTemplate);
+    }
+
+}
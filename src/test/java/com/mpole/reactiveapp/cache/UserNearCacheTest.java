@@ -0,0 +1,88 @@
+package com.mpole.reactiveapp.cache;
+
+import com.mpole.reactiveapp.config.UserCacheProperties;
+import com.mpole.reactiveapp.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserNearCacheTest {
+
+    @Mock
+    private ReactiveStringRedisTemplate stringRedisTemplate;
+
+    private UserNearCache nearCache;
+
+    @BeforeEach
+    void setUp() {
+        nearCache = new UserNearCache(new UserCacheProperties(), stringRedisTemplate, new SimpleMeterRegistry());
+    }
+
+    /**
+     * L1 캐시에 저장한 사용자가 조회되고 hit/miss 통계가 기록되는지 검증합니다.
+     */
+    @Test
+    void put_ShouldBeReadable_AndRecordStats() {
+        // Given
+        User user = new User(1L, "John", "john@example.com");
+
+        // When
+        nearCache.put(user);
+
+        // Then
+        assertEquals(user, nearCache.getIfPresent(1L));
+        assertNull(nearCache.getIfPresent(2L));
+        assertEquals(1, nearCache.stats().hitCount());
+        assertEquals(1, nearCache.stats().missCount());
+    }
+
+    /**
+     * 무효화 시 로컬 캐시에서 제거되고 다른 노드로 무효화 메시지가 발행되는지 검증합니다.
+     */
+    @Test
+    void invalidate_ShouldEvictLocally_AndPublishToOtherNodes() {
+        // Given
+        nearCache.put(new User(1L, "John", "john@example.com"));
+        when(stringRedisTemplate.convertAndSend("user:invalidate", "1")).thenReturn(Mono.just(1L));
+
+        // When
+        StepVerifier.create(nearCache.invalidate(1L))
+                .verifyComplete();
+
+        // Then
+        assertNull(nearCache.getIfPresent(1L));
+        verify(stringRedisTemplate).convertAndSend("user:invalidate", "1");
+    }
+
+    /**
+     * Redis에 연결할 수 없어도 구독 시작이 실패하지 않고, 연결을 다시 시도하는지 검증합니다.
+     * 시나리오: listenToChannel 호출이 연결 실패 예외를 던집니다.
+     * 기대 결과: subscribeInvalidations는 예외 없이 반환되고, 백오프 후 다시 구독을 시도합니다.
+     */
+    @Test
+    void subscribeInvalidations_ShouldNotFail_WhenRedisIsUnreachable() {
+        // Given
+        when(stringRedisTemplate.listenToChannel("user:invalidate"))
+                .thenThrow(new RedisConnectionFailureException("Unable to connect to Redis"));
+
+        // When
+        nearCache.subscribeInvalidations();
+
+        // Then
+        verify(stringRedisTemplate, timeout(3000).atLeast(2)).listenToChannel("user:invalidate");
+        nearCache.unsubscribeInvalidations();
+    }
+
+}
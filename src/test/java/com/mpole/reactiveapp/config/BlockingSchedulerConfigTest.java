@@ -0,0 +1,99 @@
+package com.mpole.reactiveapp.config;
+
+import com.mpole.reactiveapp.metrics.ReactorSchedulerMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.blockhound.BlockingOperationError;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BlockingSchedulerConfigTest {
+
+    private static Mono<Boolean> blockingCall() {
+        return Mono.fromCallable(() -> {
+            Thread.sleep(1);
+            return Thread.currentThread().isVirtual();
+        });
+    }
+
+    /**
+     * 테스트 실행 중 BlockHound가 설치되어 parallel 스레드의 블로킹 호출을 실패시키는지 검증합니다.
+     * 시나리오: Thread.sleep을 parallel 스케줄러(이벤트 루프와 같은 non-blocking 스레드)에서 실행합니다.
+     * 기대 결과: BlockingOperationError로 실패합니다.
+     */
+    @Test
+    void blockingCall_ShouldBeDetected_OnNonBlockingThread() {
+        StepVerifier.create(blockingCall().subscribeOn(Schedulers.parallel()))
+                .expectError(BlockingOperationError.class)
+                .verify();
+    }
+
+    /**
+     * VIRTUAL_THREADS 모드의 스케줄러가 블로킹 호출을 가상 스레드에서 실행하는지 검증합니다.
+     * 시나리오: 같은 블로킹 호출을 parallel 스레드에서 구독하되 가상 스레드 스케줄러로 옮겨 실행합니다.
+     * 기대 결과: 오류 없이 완료되고, 호출은 가상 스레드에서 실행됩니다.
+     */
+    @Test
+    void virtualThreadScheduler_ShouldRunBlockingCallOnVirtualThread() {
+        Scheduler scheduler = BlockingSchedulerConfig.create(BlockingProperties.Mode.VIRTUAL_THREADS);
+        try {
+            StepVerifier.create(blockingCall().subscribeOn(scheduler).subscribeOn(Schedulers.parallel()))
+                    .expectNext(true)
+                    .verifyComplete();
+        } finally {
+            scheduler.dispose();
+        }
+    }
+
+    /**
+     * VIRTUAL_THREADS 모드의 스케줄러도 실행 중인 작업 수가 reactor.scheduler.buffered{scheduler=blocking}로 노출되는지 검증합니다.
+     * 시나리오: 가상 스레드 스케줄러에서 작업 하나를 멈춰 둔 상태로 게이지를 읽고, 작업을 끝낸 뒤 다시 읽습니다.
+     * 기대 결과: 실행 중에는 1, 끝난 뒤에는 0을 보고합니다.
+     */
+    @Test
+    void virtualThreadScheduler_ShouldReportActiveTasks_ToSchedulerMetrics() throws InterruptedException {
+        // Given
+        Scheduler scheduler = BlockingSchedulerConfig.create(BlockingProperties.Mode.VIRTUAL_THREADS);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new ReactorSchedulerMetrics(scheduler).bindTo(registry);
+        Gauge buffered = registry.get("reactor.scheduler.buffered").tag("scheduler", "blocking").gauge();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        try {
+            // When
+            scheduler.schedule(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                finished.countDown();
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // Then
+            assertEquals(1.0, buffered.value());
+            release.countDown();
+            assertTrue(finished.await(5, TimeUnit.SECONDS));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (buffered.value() != 0.0 && System.nanoTime() < deadline) {
+                Thread.onSpinWait(); // finally 블록의 감소가 반영될 때까지 잠깐 대기
+            }
+            assertEquals(0.0, buffered.value());
+        } finally {
+            scheduler.dispose();
+        }
+    }
+
+}
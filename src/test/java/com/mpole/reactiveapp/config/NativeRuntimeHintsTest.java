@@ -0,0 +1,30 @@
+package com.mpole.reactiveapp.config;
+
+import com.mpole.reactiveapp.model.User;
+import com.mpole.reactiveapp.model.UserEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NativeRuntimeHintsTest {
+
+    /**
+     * 네이티브 이미지에서 Jackson으로 직렬화하는 모델과 스키마 스크립트가 힌트에 등록되는지 검증합니다.
+     */
+    @Test
+    void registerHints_ShouldCoverJacksonModels_AndSchemaScript() {
+        // Given
+        RuntimeHints hints = new RuntimeHints();
+
+        // When
+        new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // Then
+        assertTrue(RuntimeHintsPredicates.reflection().onType(User.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(UserEvent.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("db/create_tables.sql").test(hints));
+    }
+
+}
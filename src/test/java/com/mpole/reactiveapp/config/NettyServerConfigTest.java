@@ -0,0 +1,72 @@
+package com.mpole.reactiveapp.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerConfig;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NettyServerConfigTest {
+
+    private final LoopResources loopResources = LoopResources.create("test-http-server", 1, 2, true);
+
+    @AfterEach
+    void tearDown() {
+        loopResources.dispose();
+    }
+
+    /**
+     * 서버 전용 이벤트 루프와 idle timeout을 적용하고, 기본값에서는 HTTP/1.1만 받는지 검증합니다.
+     */
+    @Test
+    void customize_ShouldRunOnServerLoops_WithIdleTimeout() {
+        // Given
+        NettyServerProperties properties = new NettyServerProperties();
+        properties.setIdleTimeout(Duration.ofSeconds(30));
+
+        // When
+        HttpServerConfig config = NettyServerConfig.customize(HttpServer.create(), properties, loopResources,
+                false, null, null).configuration();
+
+        // Then
+        assertSame(loopResources, config.loopResources());
+        assertEquals(Duration.ofSeconds(30), config.idleTimeout());
+        assertArrayEquals(new HttpProtocol[]{HttpProtocol.HTTP11}, config.protocols());
+    }
+
+    /**
+     * http2=true이면 HTTP/1.1과 h2c를 함께 받고, 연결당 동시 스트림 수를 제한하는지 검증합니다.
+     */
+    @Test
+    void customize_ShouldEnableH2c_WithStreamLimit() {
+        // Given
+        NettyServerProperties properties = new NettyServerProperties();
+        properties.setHttp2(true);
+        properties.setMaxConcurrentStreams(128);
+
+        // When
+        HttpServerConfig config = NettyServerConfig.customize(HttpServer.create(), properties, loopResources,
+                false, null, null).configuration();
+
+        // Then
+        assertEquals(Set.of(HttpProtocol.HTTP11, HttpProtocol.H2C), Set.of(config.protocols()));
+        assertEquals(128L, config.http2SettingsSpec().maxConcurrentStreams());
+    }
+
+    /**
+     * 메트릭 uri 태그가 숫자 경로를 {id}로 바꾸고 쿼리 문자열을 버리는지 검증합니다.
+     */
+    @Test
+    void uriTag_ShouldCollapseIds_AndDropQuery() {
+        assertEquals("/users/{id}", NettyServerConfig.uriTag("/users/123"));
+        assertEquals("/users", NettyServerConfig.uriTag("/users?email=a@example.com"));
+        assertEquals("/users/stream", NettyServerConfig.uriTag("/users/stream"));
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.mpole.reactiveapp.config;
+
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.resource.ClientResources;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisSentinelConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class RedisConfigTest {
+
+    private final ClientResources clientResources = mock(ClientResources.class);
+
+    private final MockEnvironment env = new MockEnvironment()
+            .withProperty("spring.redis.host", "redis.local")
+            .withProperty("spring.redis.port", "6380");
+
+    private LettuceConnectionFactory create(RedisTopologyProperties topology) {
+        return (LettuceConnectionFactory) new RedisConfig()
+                .reactiveRedisConnectionFactory(env, topology, clientResources);
+    }
+
+    private LettuceConnectionFactory createReplica(RedisTopologyProperties topology) {
+        return (LettuceConnectionFactory) new RedisConfig()
+                .replicaRedisConnectionFactory(env, topology, clientResources);
+    }
+
+    /**
+     * 기본(STANDALONE) 모드가 spring.redis.host/port로 연결하고 replica 조회를 설정하지 않는지 검증합니다.
+     */
+    @Test
+    void standaloneMode_ShouldUseSpringRedisHost_WithoutReadFrom() {
+        // When
+        LettuceConnectionFactory factory = create(new RedisTopologyProperties());
+
+        // Then
+        assertEquals("redis.local", factory.getHostName());
+        assertEquals(6380, factory.getPort());
+        assertNull(factory.getClusterConfiguration());
+        assertTrue(factory.getClientConfiguration().getReadFrom().isEmpty());
+        assertTrue(factory.getShareNativeConnection());
+        assertTrue(createReplica(new RedisTopologyProperties()).getClientConfiguration().getReadFrom().isEmpty());
+    }
+
+    /**
+     * CLUSTER 모드가 시드 노드, 리다이렉트 횟수, 토폴로지 갱신을 설정하고,
+     * 기본 연결은 master에서, replica 조회용 연결만 replica 우선으로 읽는지 검증합니다.
+     */
+    @Test
+    void clusterMode_ShouldReadFromReplicas_OnlyOnReplicaFactory() {
+        // Given
+        RedisTopologyProperties topology = new RedisTopologyProperties();
+        topology.setMode(RedisTopologyProperties.Mode.CLUSTER);
+        topology.setNodes(List.of("redis-1:6379", "redis-2:6379", "redis-3:6379"));
+        topology.setMaxRedirects(5);
+
+        // When
+        LettuceConnectionFactory factory = create(topology);
+
+        // Then
+        RedisClusterConfiguration cluster = factory.getClusterConfiguration();
+        assertNotNull(cluster);
+        assertEquals(3, cluster.getClusterNodes().size());
+        assertEquals(5, cluster.getMaxRedirects());
+        assertTrue(factory.getClientConfiguration().getReadFrom().isEmpty());
+        assertEquals(ReadFrom.REPLICA_PREFERRED, createReplica(topology).getClientConfiguration().getReadFrom().orElseThrow());
+        ClusterClientOptions options = (ClusterClientOptions) factory.getClientConfiguration().getClientOptions().orElseThrow();
+        assertTrue(options.getTopologyRefreshOptions().isPeriodicRefreshEnabled());
+        assertSame(clientResources, factory.getClientConfiguration().getClientResources().orElseThrow());
+    }
+
+    /**
+     * SENTINEL 모드가 master 이름과 sentinel 노드를 사용하고, replica 조회용 연결이 설정한 조회 노드를 사용하는지 검증합니다.
+     */
+    @Test
+    void sentinelMode_ShouldUseMasterName_AndConfiguredReadFrom() {
+        // Given
+        RedisTopologyProperties topology = new RedisTopologyProperties();
+        topology.setMode(RedisTopologyProperties.Mode.SENTINEL);
+        topology.setNodes(List.of("sentinel-1:26379", "sentinel-2:26379"));
+        topology.setSentinelMaster("users");
+        topology.setReadFrom(RedisTopologyProperties.ReadPreference.UPSTREAM);
+
+        // When
+        LettuceConnectionFactory factory = create(topology);
+
+        // Then
+        RedisSentinelConfiguration sentinel = factory.getSentinelConfiguration();
+        assertNotNull(sentinel);
+        assertEquals("users", sentinel.getMaster().getName());
+        assertEquals(2, sentinel.getSentinels().size());
+        assertTrue(factory.getClientConfiguration().getReadFrom().isEmpty());
+        assertEquals(ReadFrom.UPSTREAM, createReplica(topology).getClientConfiguration().getReadFrom().orElseThrow());
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.mpole.reactiveapp.controller;
+
+import com.mpole.reactiveapp.config.UserStreamProperties;
+import com.mpole.reactiveapp.model.User;
+import com.mpole.reactiveapp.service.UserImportService;
+import com.mpole.reactiveapp.service.UserService;
+import com.mpole.reactiveapp.stream.UserChangeStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserControllerTest {
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private UserImportService userImportService;
+
+    @Mock
+    private UserChangeStream userChangeStream;
+
+    private UserController userController;
+
+    @BeforeEach
+    void setUp() {
+        userController = new UserController(userService, userImportService, userChangeStream, new UserStreamProperties());
+    }
+
+    /**
+     * 페이지가 가득 차면 마지막 사용자 ID를 after 커서로 담은 다음 페이지 링크를 Link 헤더로 응답하는지 검증합니다.
+     * 시나리오: size=2로 첫 페이지를 조회하고, 사용자 1, 2가 조회됩니다.
+     * 기대 결과: 두 사용자를 응답하고 Link 헤더는 after=2&size=2 를 가리킵니다. (다른 쿼리 파라미터는 유지)
+     */
+    @Test
+    void getAllUsers_ShouldLinkNextPage_WhenPageIsFull() {
+        // Given
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("http://localhost/users?size=2&sort=id"));
+        when(userService.getUsersPage(0L, 2)).thenReturn(Flux.just(
+                new User(1L, "John", "john@example.com"), new User(2L, "Jane", "jane@example.com")));
+
+        // When & Then
+        StepVerifier.create(userController.getAllUsers(0L, 2, exchange))
+                .expectNextCount(2)
+                .verifyComplete();
+
+        assertEquals("<http://localhost/users?sort=id&after=2&size=2>; rel=\"next\"",
+                exchange.getResponse().getHeaders().getFirst(HttpHeaders.LINK));
+    }
+
+    /**
+     * 마지막 페이지(size보다 적게 조회)에는 Link 헤더를 붙이지 않는지 검증합니다.
+     */
+    @Test
+    void getAllUsers_ShouldOmitNextLink_OnLastPage() {
+        // Given
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("http://localhost/users?after=2&size=2"));
+        when(userService.getUsersPage(2L, 2)).thenReturn(Flux.just(new User(3L, "Jim", "jim@example.com")));
+
+        // When & Then
+        StepVerifier.create(userController.getAllUsers(2L, 2, exchange))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertNull(exchange.getResponse().getHeaders().getFirst(HttpHeaders.LINK));
+    }
+
+    /**
+     * 이미 사용 중인 이메일로 등록하면(유니크 인덱스 위반) 500이 아니라 409로 응답하는지 검증합니다.
+     */
+    @Test
+    void createUser_ShouldReturnConflict_WhenEmailIsTaken() {
+        // Given
+        User user = new User(null, "John", "john@example.com");
+        when(userService.createUser(user))
+                .thenReturn(Mono.error(new DuplicateKeyException("Duplicate entry 'john@example.com' for key 'uk_users_email'")));
+        WebTestClient client = WebTestClient.bindToController(userController).build();
+
+        // When & Then
+        client.post().uri("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(user)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.mpole.reactiveapp.db;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReplicaRoutingConnectionFactoryTest {
+
+    @Mock
+    private ConnectionFactory primary;
+
+    @Mock
+    private ConnectionFactory replica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    private ReplicaRoutingConnectionFactory routingConnectionFactory;
+
+    @BeforeEach
+    void setUp() {
+        routingConnectionFactory = new ReplicaRoutingConnectionFactory(primary, replica);
+        routingConnectionFactory.afterPropertiesSet();
+    }
+
+    /**
+     * 읽기 전용 표시가 없는 커넥션 요청은 primary로 라우팅되는지 검증합니다.
+     */
+    @Test
+    void create_ShouldUsePrimary_ByDefault() {
+        // Given
+        doReturn(Mono.just(primaryConnection)).when(primary).create();
+
+        // When & Then
+        StepVerifier.create(Mono.from(routingConnectionFactory.create()))
+                .expectNext(primaryConnection)
+                .verifyComplete();
+        verify(replica, never()).create();
+    }
+
+    /**
+     * readOnly로 표시된 커넥션 요청은 replica로 라우팅되는지 검증합니다.
+     */
+    @Test
+    void create_ShouldUseReplica_WhenMarkedReadOnly() {
+        // Given
+        doReturn(Mono.just(replicaConnection)).when(replica).create();
+
+        // When & Then
+        StepVerifier.create(ReplicaRoutingConnectionFactory.readOnly(Mono.from(routingConnectionFactory.create())))
+                .expectNext(replicaConnection)
+                .verifyComplete();
+        verify(primary, never()).create();
+    }
+
+}
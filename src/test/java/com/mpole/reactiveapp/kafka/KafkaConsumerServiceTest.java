@@ -1,28 +1,161 @@
 package com.mpole.reactiveapp.kafka;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mpole.reactiveapp.cache.UserNearCache;
+import com.mpole.reactiveapp.config.KafkaConsumerProperties;
+import com.mpole.reactiveapp.config.ResilienceProperties;
+import com.mpole.reactiveapp.model.User;
+import com.mpole.reactiveapp.model.UserEvent;
+import com.mpole.reactiveapp.model.UserEventType;
+import com.mpole.reactiveapp.resilience.DependencyGuards;
+import com.mpole.reactiveapp.stream.UserChangeStream;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.kafka.support.Acknowledgment;
+import reactor.core.publisher.Mono;
 
-@ExtendWith(SpringExtension.class)
-@SpringBootTest
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
 public class KafkaConsumerServiceTest {
 
-    @InjectMocks
+    @Mock
+    private ReactiveRedisTemplate<String, User> redisTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, User> valueOperations;
+
+    @Mock
+    private UserNearCache nearCache;
+
+    @Mock
+    private UserChangeStream changeStream;
+
+    @Mock
+    private Acknowledgment acknowledgment;
+
+    @Mock
+    private Consumer<?, ?> consumer;
+
     private KafkaConsumerService kafkaConsumerService;
 
+    @BeforeEach
+    void setUp() {
+        kafkaConsumerService = new KafkaConsumerService(redisTemplate, nearCache, new ObjectMapper(),
+                new KafkaConsumerProperties(), changeStream,
+                new DependencyGuards(new ResilienceProperties(), new SimpleMeterRegistry()), new SimpleMeterRegistry());
+    }
+
+    private static ConsumerRecord<String, String> record(long offset, String key, String value) {
+        return new ConsumerRecord<>("user-topic", 0, offset, key, value);
+    }
+
+    /**
+     * 수정/삭제 이벤트는 캐시를 무효화하고, 배치 전체를 처리한 뒤 오프셋을 한 번만 커밋하는지 검증합니다.
+     */
+    @Test
+    void consume_ShouldInvalidateCaches_AndAcknowledgeOncePerBatch() {
+        // Given
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.delete(anyString())).thenReturn(Mono.just(true));
+        when(nearCache.invalidate(anyLong())).thenReturn(Mono.empty());
+
+        List<ConsumerRecord<String, String>> batch = List.of(
+                record(0, "1", "{\"type\":\"CREATED\",\"userId\":1,\"name\":\"John\"}"),
+                record(1, "1", "{\"type\":\"UPDATED\",\"userId\":1,\"name\":\"Johnny\"}"),
+                record(2, "2", "{\"type\":\"DELETED\",\"userId\":2,\"name\":\"Jane\"}"),
+                record(3, null, "사용자 생성: legacy"));
+
+        // When
+        kafkaConsumerService.consume(batch, acknowledgment, consumer);
+
+        // Then
+        verify(valueOperations).delete("user:1");
+        verify(valueOperations).delete("user:2");
+        verify(nearCache).invalidate(1L);
+        verify(nearCache).invalidate(2L);
+        verify(acknowledgment, times(1)).acknowledge();
+    }
+
+    /**
+     * 같은 키의 이벤트가 배치 안의 순서대로 처리되는지 검증합니다.
+     */
+    @Test
+    void consume_ShouldPreserveOrderPerKey() {
+        // Given
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.delete("user:1")).thenReturn(Mono.just(true));
+        when(nearCache.invalidate(1L)).thenReturn(Mono.empty());
+
+        List<ConsumerRecord<String, String>> batch = List.of(
+                record(0, "1", "{\"type\":\"UPDATED\",\"userId\":1,\"name\":\"A\"}"),
+                record(1, "1", "{\"type\":\"DELETED\",\"userId\":1,\"name\":\"A\"}"));
+
+        // When
+        kafkaConsumerService.consume(batch, acknowledgment, consumer);
+
+        // Then
+        InOrder inOrder = inOrder(valueOperations, nearCache);
+        inOrder.verify(valueOperations).delete("user:1");
+        inOrder.verify(nearCache).invalidate(1L);
+        inOrder.verify(valueOperations).delete("user:1");
+        inOrder.verify(nearCache).invalidate(1L);
+        verify(acknowledgment).acknowledge();
+    }
+
+    /**
+     * Redis가 응답하지 않으면 리스너 스레드가 멈추지 않고 시간 제한 안에 실패하며 오프셋을 커밋하지 않는지 검증합니다.
+     */
+    @Test
+    void consume_ShouldFailWithoutAcknowledging_WhenRedisStalls() {
+        // Given
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.delete("user:1")).thenReturn(Mono.never());
+
+        List<ConsumerRecord<String, String>> batch = List.of(
+                record(0, "1", "{\"type\":\"UPDATED\",\"userId\":1,\"name\":\"A\"}"));
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> kafkaConsumerService.consume(batch, acknowledgment, consumer));
+        verifyNoInteractions(acknowledgment);
+    }
+
+    /**
+     * 스트림 구독이 모든 종류의 이벤트를 순서대로 UserChangeStream에 넘기고, 캐시는 건드리지 않는지 검증합니다.
+     * 시나리오: 생성/수정 이벤트와 형식이 맞지 않는 메시지가 한 배치로 들어옵니다.
+     * 기대 결과: 생성, 수정 이벤트만 순서대로 전달되고 오프셋 커밋과 캐시 무효화는 일어나지 않습니다.
+     */
     @Test
-    void consume_ShouldProcessReceivedMessage() {
+    void stream_ShouldPublishEveryEvent_WithoutTouchingCaches() {
         // Given
-        String receivedMessage = "User Created: John";
+        List<ConsumerRecord<String, String>> batch = List.of(
+                record(0, "1", "{\"type\":\"CREATED\",\"userId\":1,\"name\":\"John\"}"),
+                record(1, null, "사용자 생성: legacy"),
+                record(2, "1", "{\"type\":\"UPDATED\",\"userId\":1,\"name\":\"Johnny\"}"));
 
         // When
-        kafkaConsumerService.consume(receivedMessage);
+        kafkaConsumerService.stream(batch);
 
         // Then
-        System.out.println("✅ Kafka Consumer 테스트 성공: " + receivedMessage);
+        ArgumentCaptor<UserEvent> events = ArgumentCaptor.forClass(UserEvent.class);
+        verify(changeStream, times(2)).publish(events.capture());
+        assertEquals(UserEventType.CREATED, events.getAllValues().get(0).getType());
+        assertEquals("Johnny", events.getAllValues().get(1).getName());
+        verifyNoInteractions(redisTemplate, nearCache, acknowledgment);
     }
 
 }
@@ -1,11 +1,25 @@
 package com.mpole.reactiveapp.kafka;
 
+import com.mpole.reactiveapp.config.BlockingProperties;
+import com.mpole.reactiveapp.config.BlockingSchedulerConfig;
+import com.mpole.reactiveapp.config.ResilienceProperties;
+import com.mpole.reactiveapp.resilience.DependencyGuards;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.CompletableFuture;
+
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -14,20 +28,77 @@ public class KafkaProducerServiceTest {
     @Mock
     private KafkaTemplate<String, String> kafkaTemplate;
 
-    @InjectMocks
+    private SimpleMeterRegistry meterRegistry;
+
     private KafkaProducerService kafkaProducerService;
 
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private void createService() {
+        kafkaProducerService = new KafkaProducerService(kafkaTemplate,
+                new DependencyGuards(new ResilienceProperties(), meterRegistry),
+                BlockingSchedulerConfig.create(BlockingProperties.Mode.VIRTUAL_THREADS), meterRegistry);
+    }
+
+    private static SendResult<String, String> sendResult(String key, String message) {
+        RecordMetadata metadata = new RecordMetadata(new TopicPartition("user-topic", 0), 0L, 0, 0L, 0, 0);
+        return new SendResult<>(new ProducerRecord<>("user-topic", key, message), metadata);
+    }
+
     @Test
-    void sendMessage_ShouldCallKafkaTemplateSend() {
+    void send_ShouldCallKafkaTemplateSend() {
         // Given
+        createService();
         String topic = "user-topic";
+        String key = "1";
         String message = "User Created: John";
+        when(kafkaTemplate.send(topic, key, message))
+                .thenReturn(CompletableFuture.completedFuture(sendResult(key, message)));
 
         // When
-        kafkaProducerService.sendMessage(message).block();
+        kafkaProducerService.send(key, message).block();
 
         // Then
-        verify(kafkaTemplate, times(1)).send(eq(topic), eq(message));
+        verify(kafkaTemplate, times(1)).send(eq(topic), eq(key), eq(message));
+    }
+
+    /**
+     * 브로커 전송 실패가 호출자에게 전달되는지 검증합니다.
+     */
+    @Test
+    void send_ShouldPropagateBrokerFailure() {
+        // Given
+        createService();
+        when(kafkaTemplate.send("user-topic", "1", "message"))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        // When & Then
+        StepVerifier.create(kafkaProducerService.send("1", "message"))
+                .expectError(IllegalStateException.class)
+                .verify();
+    }
+
+    /**
+     * 블로킹하는 전송 호출이 parallel 스레드에서 구독되어도 블로킹 호출용 스케줄러에서 실행되는지 검증합니다.
+     * 시나리오: KafkaTemplate.send가 메타데이터 대기처럼 잠시 블로킹하고, 전송을 parallel 스레드에서 구독합니다.
+     * 기대 결과: BlockHound 오류 없이 전송이 완료됩니다.
+     */
+    @Test
+    void send_ShouldOffloadBlockingSend_FromNonBlockingThread() {
+        // Given
+        createService();
+        when(kafkaTemplate.send("user-topic", "1", "message")).thenAnswer(invocation -> {
+            Thread.sleep(10); // max.block.ms 대기 흉내
+            return CompletableFuture.completedFuture(sendResult("1", "message"));
+        });
+
+        // When & Then
+        StepVerifier.create(kafkaProducerService.send("1", "message").subscribeOn(Schedulers.parallel()))
+                .expectNextCount(1)
+                .verifyComplete();
     }
 
 }
@@ -0,0 +1,92 @@
+package com.mpole.reactiveapp.outbox;
+
+import com.mpole.reactiveapp.config.OutboxProperties;
+import com.mpole.reactiveapp.config.ResilienceProperties;
+import com.mpole.reactiveapp.kafka.KafkaProducerService;
+import com.mpole.reactiveapp.model.UserOutboxEvent;
+import com.mpole.reactiveapp.repository.UserOutboxRepository;
+import com.mpole.reactiveapp.resilience.DependencyGuards;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserOutboxRelayTest {
+
+    @Mock
+    private UserOutboxRepository outboxRepository;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @Mock
+    private KafkaProducerService kafkaProducerService;
+
+    private UserOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        OutboxProperties properties = new OutboxProperties();
+        properties.setRelayEnabled(false);
+        relay = new UserOutboxRelay(outboxRepository, transactionalOperator, kafkaProducerService,
+                new DependencyGuards(new ResilienceProperties(), new SimpleMeterRegistry()), properties,
+                new SimpleMeterRegistry());
+        lenient().when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    /**
+     * 아웃박스 이벤트를 사용자 ID 키로 발행한 뒤에만 삭제하는지 검증합니다.
+     * 잠금 조회부터 삭제까지 하나의 트랜잭션으로 실행되어야 합니다.
+     */
+    @Test
+    void drain_ShouldPublishWithUserIdKey_ThenDelete() {
+        // Given
+        UserOutboxEvent first = new UserOutboxEvent(10L, 1L, "CREATED", "{\"userId\":1}", LocalDateTime.now());
+        UserOutboxEvent second = new UserOutboxEvent(11L, 2L, "UPDATED", "{\"userId\":2}", LocalDateTime.now());
+        when(outboxRepository.claimOldest(500)).thenReturn(Flux.just(first, second));
+        when(kafkaProducerService.send(anyString(), anyString())).thenReturn(Mono.empty());
+        when(outboxRepository.deleteAllById(List.of(10L, 11L))).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(relay.drain())
+                .expectNext(2L)
+                .verifyComplete();
+
+        verify(kafkaProducerService).send("1", "{\"userId\":1}");
+        verify(kafkaProducerService).send("2", "{\"userId\":2}");
+        verify(outboxRepository).deleteAllById(List.of(10L, 11L));
+        verify(transactionalOperator).transactional(any(Mono.class));
+    }
+
+    /**
+     * 전송이 실패하면 아웃박스 레코드를 삭제하지 않는지(다음 주기에 재발행) 검증합니다.
+     */
+    @Test
+    void drain_ShouldKeepEvents_WhenSendFails() {
+        // Given
+        UserOutboxEvent event = new UserOutboxEvent(10L, 1L, "CREATED", "{\"userId\":1}", LocalDateTime.now());
+        when(outboxRepository.claimOldest(500)).thenReturn(Flux.just(event));
+        when(kafkaProducerService.send("1", "{\"userId\":1}"))
+                .thenReturn(Mono.error(new IllegalStateException("broker down")));
+
+        // When & Then
+        StepVerifier.create(relay.drain())
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        verify(outboxRepository, never()).deleteAllById(anyIterable());
+    }
+
+}
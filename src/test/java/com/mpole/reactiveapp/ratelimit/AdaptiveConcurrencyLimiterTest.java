@@ -0,0 +1,85 @@
+package com.mpole.reactiveapp.ratelimit;
+
+import com.mpole.reactiveapp.config.RateLimitProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static RateLimitProperties.Concurrency properties(int initialLimit) {
+        RateLimitProperties.Concurrency properties = new RateLimitProperties.Concurrency();
+        properties.setInitialLimit(initialLimit);
+        properties.setMinLimit(2);
+        properties.setMaxLimit(100);
+        return properties;
+    }
+
+    /**
+     * 한도에 도달하면 바로 거절하고, 처리가 끝나면 다시 받는지 검증합니다.
+     */
+    @Test
+    void tryAcquire_ShouldRejectAtLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties(2));
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.releaseWithoutSample();
+        assertTrue(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    /**
+     * 응답 시간이 기준보다 크게 늘어나면 한도를 줄이는지 검증합니다.
+     * 시나리오: 10ms 응답이 이어지다가 200ms 응답이 이어집니다.
+     * 기대 결과: 한도가 시작 한도보다 줄어들고 하한 아래로는 내려가지 않습니다.
+     */
+    @Test
+    void release_ShouldShrinkLimit_WhenLatencyRises() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties(50));
+        sample(limiter, 100, 10);
+        int before = limiter.getLimit();
+
+        // When
+        sample(limiter, 200, 200);
+
+        // Then
+        assertTrue(limiter.getLimit() < before);
+        assertTrue(limiter.getLimit() >= 2);
+    }
+
+    /**
+     * 응답 시간이 안정적이고 한도를 충분히 쓰는 중이면 한도를 늘리는지 검증합니다.
+     */
+    @Test
+    void release_ShouldGrowLimit_WhenLatencyIsStableUnderLoad() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties(10));
+
+        // When: 한도를 모두 채운 상태에서 같은 응답 시간으로 완료
+        for (int i = 0; i < 50; i++) {
+            while (limiter.tryAcquire()) {
+                // 한도까지 채움
+            }
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        // Then
+        assertTrue(limiter.getLimit() > 10);
+    }
+
+    private static void sample(AdaptiveConcurrencyLimiter limiter, int count, long rttMillis) {
+        for (int i = 0; i < count; i++) {
+            limiter.tryAcquire();
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(rttMillis));
+        }
+    }
+
+}
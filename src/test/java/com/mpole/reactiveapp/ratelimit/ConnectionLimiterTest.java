@@ -0,0 +1,44 @@
+package com.mpole.reactiveapp.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConnectionLimiterTest {
+
+    /**
+     * 한도까지만 연결을 받고, 연결이 닫히면 다시 받는지 검증합니다.
+     */
+    @Test
+    void tryAcquire_ShouldRejectAboveLimit_UntilReleased() {
+        // Given
+        ConnectionLimiter limiter = new ConnectionLimiter(2);
+
+        // When & Then
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.getOpenConnections());
+
+        limiter.release();
+        assertTrue(limiter.tryAcquire());
+    }
+
+    /**
+     * 한도가 0이면 제한 없이 받는지 검증합니다.
+     */
+    @Test
+    void tryAcquire_ShouldAlwaysAccept_WhenUnlimited() {
+        // Given
+        ConnectionLimiter limiter = new ConnectionLimiter(0);
+
+        // When & Then
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        assertEquals(1000, limiter.getOpenConnections());
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.mpole.reactiveapp.ratelimit;
+
+import com.mpole.reactiveapp.config.RateLimitProperties;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class LocalTokenBucketRateLimiterTest {
+
+    /**
+     * 버킷 크기만큼의 버스트는 허용하고, 이후에는 채움 속도만큼만 허용하는지 검증합니다.
+     * 시나리오: 버킷 크기 2, 초당 1개를 채우는 버킷에서 연속 요청 후 1초를 기다립니다.
+     * 기대 결과: 처음 두 요청은 허용, 세 번째는 거절, 1초 뒤 한 요청만 허용되며 다른 클라이언트는 영향을 받지 않습니다.
+     */
+    @Test
+    void tryConsume_ShouldAllowBurst_ThenRefillOverTime() {
+        // Given
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setCapacity(2);
+        properties.setRefillPerSecond(1);
+        AtomicLong now = new AtomicLong();
+        LocalTokenBucketRateLimiter rateLimiter = new LocalTokenBucketRateLimiter(properties, now::get);
+
+        // When & Then
+        StepVerifier.create(rateLimiter.tryConsume("a")).expectNext(true).verifyComplete();
+        StepVerifier.create(rateLimiter.tryConsume("a")).expectNext(true).verifyComplete();
+        StepVerifier.create(rateLimiter.tryConsume("a")).expectNext(false).verifyComplete();
+        StepVerifier.create(rateLimiter.tryConsume("b")).expectNext(true).verifyComplete();
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        StepVerifier.create(rateLimiter.tryConsume("a")).expectNext(true).verifyComplete();
+        StepVerifier.create(rateLimiter.tryConsume("a")).expectNext(false).verifyComplete();
+    }
+
+}
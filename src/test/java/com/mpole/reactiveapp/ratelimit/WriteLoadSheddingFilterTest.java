@@ -0,0 +1,155 @@
+package com.mpole.reactiveapp.ratelimit;
+
+import com.mpole.reactiveapp.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class WriteLoadSheddingFilterTest {
+
+    @Mock
+    private ClientRateLimiter rateLimiter;
+
+    @Mock
+    private WebFilterChain chain;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private RateLimitProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new RateLimitProperties();
+    }
+
+    /**
+     * 클라이언트의 토큰이 없으면 다음 필터로 넘기지 않고 429와 Retry-After로 바로 응답하는지 검증합니다.
+     */
+    @Test
+    void filter_ShouldReturn429_WhenClientIsRateLimited() {
+        // Given
+        properties.setTrustedProxies(List.of("10.0.0.1"));
+        WriteLoadSheddingFilter filter = new WriteLoadSheddingFilter(rateLimiter, null, properties, meterRegistry);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/users")
+                .remoteAddress(new InetSocketAddress("10.0.0.1", 40000))
+                .header("X-Client-Id", "client-1"));
+        when(rateLimiter.tryConsume("client-1")).thenReturn(Mono.just(false));
+
+        // When & Then
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exchange.getResponse().getStatusCode());
+        assertEquals("1", exchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(1.0, meterRegistry.get("http.server.shed").tag("reason", "rate_limit").counter().count());
+        verifyNoInteractions(chain);
+    }
+
+    /**
+     * 동시 처리 한도에 도달하면 대기하지 않고 503으로 거절하며, 처리 중인 요청이 끝나면 다시 받는지 검증합니다.
+     * 시나리오: 한도 1인 상태에서 첫 요청이 처리 중일 때 두 번째 요청이 들어옵니다.
+     * 기대 결과: 두 번째 요청은 503으로 거절되고, 첫 요청이 끝난 뒤 처리 중인 요청 수가 0이 됩니다.
+     */
+    @Test
+    void filter_ShouldReturn503_WhenConcurrencyLimitIsReached() {
+        // Given
+        RateLimitProperties.Concurrency concurrency = new RateLimitProperties.Concurrency();
+        concurrency.setInitialLimit(1);
+        concurrency.setMinLimit(1);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(concurrency);
+        WriteLoadSheddingFilter filter = new WriteLoadSheddingFilter(null, limiter, properties, meterRegistry);
+
+        Sinks.Empty<Void> firstRequest = Sinks.empty();
+        MockServerWebExchange first = MockServerWebExchange.from(MockServerHttpRequest.put("/users/1"));
+        MockServerWebExchange second = MockServerWebExchange.from(MockServerHttpRequest.delete("/users/2"));
+        when(chain.filter(first)).thenReturn(firstRequest.asMono());
+
+        // When
+        StepVerifier.create(filter.filter(first, chain))
+                .then(() -> {
+                    StepVerifier.create(filter.filter(second, chain)).verifyComplete();
+                    firstRequest.tryEmitEmpty();
+                })
+                .verifyComplete();
+
+        // Then
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, second.getResponse().getStatusCode());
+        assertEquals(1.0, meterRegistry.get("http.server.shed").tag("reason", "concurrency").counter().count());
+        assertEquals(0, limiter.getInFlight());
+        verify(chain, never()).filter(second);
+    }
+
+    /**
+     * 신뢰하는 프록시가 아닌 곳에서 온 요청은 X-Client-Id 헤더를 무시하고 원격 주소로 구분하는지 검증합니다.
+     */
+    @Test
+    void clientKey_ShouldIgnoreHeader_FromUntrustedRemote() {
+        // Given
+        properties.setTrustedProxies(List.of("10.0.0.1"));
+        WriteLoadSheddingFilter filter = new WriteLoadSheddingFilter(rateLimiter, null, properties, meterRegistry);
+
+        // When & Then
+        assertEquals("203.0.113.7", filter.clientKey(MockServerHttpRequest.post("/users")
+                .remoteAddress(new InetSocketAddress("203.0.113.7", 40000))
+                .header("X-Client-Id", "someone-else")
+                .build()));
+        assertEquals("client-1", filter.clientKey(MockServerHttpRequest.post("/users")
+                .remoteAddress(new InetSocketAddress("10.0.0.1", 40000))
+                .header("X-Client-Id", "client-1")
+                .build()));
+    }
+
+    /**
+     * 일괄 등록(POST /users/import)은 처리 시간이 길어도 동시 처리 한도 계산에 응답 시간을 반영하지 않는지 검증합니다.
+     */
+    @Test
+    void filter_ShouldNotSampleImportDuration_IntoConcurrencyLimit() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = mock(AdaptiveConcurrencyLimiter.class);
+        when(limiter.tryAcquire()).thenReturn(true);
+        WriteLoadSheddingFilter filter = new WriteLoadSheddingFilter(null, limiter, properties, meterRegistry);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/users/import"));
+        when(chain.filter(exchange)).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        verify(limiter).releaseWithoutSample();
+        verify(limiter, never()).release(anyLong());
+    }
+
+    /**
+     * 조회 요청과 일괄 조회(POST /users/batch)는 제한 대상이 아닌지 검증합니다.
+     */
+    @Test
+    void isWriteRequest_ShouldOnlyMatchWriteEndpoints() {
+        assertTrue(WriteLoadSheddingFilter.isWriteRequest(MockServerHttpRequest.post("/users").build()));
+        assertTrue(WriteLoadSheddingFilter.isWriteRequest(MockServerHttpRequest.post("/users/import").build()));
+        assertTrue(WriteLoadSheddingFilter.isWriteRequest(MockServerHttpRequest.put("/users/1").build()));
+        assertTrue(WriteLoadSheddingFilter.isWriteRequest(MockServerHttpRequest.delete("/users/1").build()));
+        assertFalse(WriteLoadSheddingFilter.isWriteRequest(MockServerHttpRequest.get("/users/1").build()));
+        assertFalse(WriteLoadSheddingFilter.isWriteRequest(MockServerHttpRequest.post("/users/batch").build()));
+        assertFalse(WriteLoadSheddingFilter.isWriteRequest(MockServerHttpRequest.post("/actuator/refresh").build()));
+    }
+
+}
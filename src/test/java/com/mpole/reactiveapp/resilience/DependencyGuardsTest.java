@@ -0,0 +1,115 @@
+package com.mpole.reactiveapp.resilience;
+
+import com.mpole.reactiveapp.config.ResilienceProperties;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.mpole.reactiveapp.metrics.DependencyMetrics.DB;
+import static com.mpole.reactiveapp.metrics.DependencyMetrics.REDIS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class DependencyGuardsTest {
+
+    private static DependencyGuards guards(ResilienceProperties properties) {
+        return new DependencyGuards(properties, new SimpleMeterRegistry());
+    }
+
+    /**
+     * 응답하지 않는 호출이 시간 제한에서 실패하는지 검증합니다.
+     * 시나리오: Redis 시간 제한이 50ms이고, 호출이 끝나지 않습니다.
+     * 기대 결과: TimeoutException으로 실패합니다.
+     */
+    @Test
+    void guard_ShouldFailWithTimeout_WhenCallHangs() {
+        // Given
+        ResilienceProperties properties = new ResilienceProperties();
+        properties.getRedis().setTimeout(Duration.ofMillis(50));
+
+        // When & Then
+        StepVerifier.create(guards(properties).guard(REDIS, Mono.never()))
+                .expectError(TimeoutException.class)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    /**
+     * 실패가 이어지면 회로가 열리고, 열린 동안에는 호출하지 않고 바로 실패하는지 검증합니다.
+     * 시나리오: 최근 2개 호출로 실패율을 계산하도록 설정하고, DB 호출이 두 번 연속 실패합니다.
+     * 기대 결과: 회로가 OPEN이 되고, 세 번째 호출은 원본을 구독하지 않고 CallNotPermittedException으로 실패합니다.
+     */
+    @Test
+    void guard_ShouldOpenCircuit_AfterRepeatedFailures() {
+        // Given
+        ResilienceProperties properties = new ResilienceProperties();
+        properties.getDb().setSlidingWindowSize(2);
+        properties.getDb().setMinimumNumberOfCalls(2);
+        DependencyGuards guards = guards(properties);
+        AtomicInteger subscriptions = new AtomicInteger();
+        Mono<String> failing = Mono.defer(() -> {
+            subscriptions.incrementAndGet();
+            return Mono.error(new IllegalStateException("db down"));
+        });
+
+        // When
+        StepVerifier.create(guards.guard(DB, failing)).expectError(IllegalStateException.class).verify();
+        StepVerifier.create(guards.guard(DB, failing)).expectError(IllegalStateException.class).verify();
+
+        // Then
+        assertEquals(CircuitBreaker.State.OPEN, guards.state(DB));
+        StepVerifier.create(guards.guard(DB, failing))
+                .expectError(CallNotPermittedException.class)
+                .verify();
+        assertEquals(2, subscriptions.get());
+    }
+
+    /**
+     * 동시 호출 한도를 넘는 호출이 대기 없이 거절되고, 회로 상태에는 영향을 주지 않는지 검증합니다.
+     * 시나리오: Redis 동시 호출 한도가 1이고, 첫 호출이 진행 중일 때 두 번째 호출을 보냅니다.
+     * 기대 결과: 두 번째 호출은 BulkheadFullException으로 실패하고 회로는 CLOSED로 유지됩니다.
+     */
+    @Test
+    void guard_ShouldRejectWithoutWaiting_WhenBulkheadIsFull() {
+        // Given
+        ResilienceProperties properties = new ResilienceProperties();
+        properties.getRedis().setMaxConcurrentCalls(1);
+        properties.getRedis().setTimeout(Duration.ofSeconds(10));
+        DependencyGuards guards = guards(properties);
+        Disposable inFlight = guards.guard(REDIS, Mono.never()).subscribe();
+
+        // When & Then
+        StepVerifier.create(guards.guard(REDIS, Mono.just("value")))
+                .expectError(BulkheadFullException.class)
+                .verify();
+        assertEquals(CircuitBreaker.State.CLOSED, guards.state(REDIS));
+
+        inFlight.dispose();
+        StepVerifier.create(guards.guard(REDIS, Mono.just("value")))
+                .expectNext("value")
+                .verifyComplete();
+    }
+
+    /**
+     * 사용하지 않도록 설정하면 호출을 그대로 반환하는지 검증합니다.
+     */
+    @Test
+    void guard_ShouldReturnSource_WhenDisabled() {
+        // Given
+        ResilienceProperties properties = new ResilienceProperties();
+        properties.setEnabled(false);
+        Mono<String> source = Mono.just("value");
+
+        // When & Then
+        assertSame(source, guards(properties).guard(REDIS, source));
+    }
+
+}
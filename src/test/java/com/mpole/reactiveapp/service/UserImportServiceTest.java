@@ -0,0 +1,130 @@
+package com.mpole.reactiveapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mpole.reactiveapp.cache.UserCacheExpiry;
+import com.mpole.reactiveapp.config.UserCacheProperties;
+import com.mpole.reactiveapp.config.UserImportProperties;
+import com.mpole.reactiveapp.model.User;
+import com.mpole.reactiveapp.outbox.UserOutbox;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserImportServiceTest {
+
+    @Mock
+    private DatabaseClient databaseClient;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @Mock
+    private ReactiveRedisTemplate<String, User> redisTemplate;
+
+    @Mock
+    private UserOutbox userOutbox;
+
+    private UserImportService userImportService;
+
+    @BeforeEach
+    void setUp() {
+        userImportService = new UserImportService(databaseClient, transactionalOperator, redisTemplate, userOutbox,
+                new ObjectMapper(), new UserImportProperties(), new UserCacheExpiry(new UserCacheProperties()));
+    }
+
+    /**
+     * CSV 한 줄을 name, email 컬럼으로 파싱하는지 검증합니다.
+     */
+    @Test
+    void parseCsv_ShouldReadNameAndEmail() {
+        UserImportService.Row row = UserImportService.parseCsv(3, " \"John\" , john@example.com");
+
+        assertEquals(3, row.line());
+        assertEquals(new User(null, "John", "john@example.com"), row.user());
+        assertNull(row.error());
+    }
+
+    /**
+     * 형식 오류/검증 실패 행은 DB에 저장하지 않고 줄 번호와 함께 실패로 보고하는지 검증합니다.
+     * 시나리오: 헤더, 컬럼 수가 틀린 행, 이메일 형식이 틀린 행, 빈 줄로만 이루어진 CSV를 등록합니다.
+     * 기대 결과: 저장 없이 두 행이 실패로 보고되고, 빈 줄은 무시됩니다.
+     */
+    @Test
+    void importCsv_ShouldReportInvalidRows_WithoutTouchingDatabase() {
+        // Given
+        Flux<String> lines = Flux.just("name,email", "John", "Jane,not-an-email", "");
+
+        // When & Then
+        StepVerifier.create(userImportService.importCsv(lines))
+                .expectNextMatches(progress -> progress.getChunk() == 1
+                        && progress.getProcessedRows() == 2
+                        && progress.getInsertedRows() == 0
+                        && progress.getFailures().size() == 2
+                        && progress.getFailures().get(0).getLine() == 2
+                        && progress.getFailures().get(1).getLine() == 3)
+                .verifyComplete();
+
+        verifyNoInteractions(databaseClient, transactionalOperator, redisTemplate, userOutbox);
+    }
+
+    /**
+     * 청크에 중복 이메일이 있으면 행 단위로 다시 저장하여 중복된 행만 실패로 보고하는지 검증합니다.
+     * 시나리오: 세 행 중 두 번째 행의 이메일이 이미 등록되어 있어 다중 행 INSERT가 중복 키 오류로 실패합니다.
+     * 기대 결과: 첫 번째/세 번째 행은 저장되고 요약 이벤트에 포함되며, 두 번째 행(3번째 줄)만 실패로 보고됩니다.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void importCsv_ShouldFailOnlyDuplicateRows_WhenChunkHitsUniqueEmail() {
+        // Given
+        DatabaseClient.GenericExecuteSpec chunkSpec = mock(DatabaseClient.GenericExecuteSpec.class, RETURNS_SELF);
+        DatabaseClient.GenericExecuteSpec rowSpec = mock(DatabaseClient.GenericExecuteSpec.class, RETURNS_SELF);
+        RowsFetchSpec<Long> chunkIds = mock(RowsFetchSpec.class);
+        RowsFetchSpec<Long> rowIds = mock(RowsFetchSpec.class);
+        when(databaseClient.sql(contains("), ("))).thenReturn(chunkSpec);
+        when(databaseClient.sql(endsWith("(:name0, :email0)"))).thenReturn(rowSpec);
+        when(chunkSpec.map(any(Function.class))).thenReturn(chunkIds);
+        when(rowSpec.map(any(Function.class))).thenReturn(rowIds);
+        when(chunkIds.all()).thenReturn(Flux.error(new DuplicateKeyException("Duplicate entry 'jane@example.com'")));
+        when(rowIds.all()).thenReturn(Flux.just(1L),
+                Flux.error(new DuplicateKeyException("Duplicate entry 'jane@example.com'")), Flux.just(3L));
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userOutbox.appendImported(anyList())).thenReturn(Mono.empty());
+        ReactiveValueOperations<String, User> valueOperations = mock(ReactiveValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.set(anyString(), any(User.class), any(Duration.class))).thenReturn(Mono.just(true));
+        Flux<String> lines = Flux.just("John,john@example.com", "Jane,jane@example.com", "Jim,jim@example.com");
+
+        // When & Then
+        StepVerifier.create(userImportService.importCsv(lines))
+                .expectNextMatches(progress -> progress.getProcessedRows() == 3
+                        && progress.getInsertedRows() == 2
+                        && progress.getFailures().size() == 1
+                        && progress.getFailures().get(0).getLine() == 2)
+                .verifyComplete();
+
+        verify(userOutbox).appendImported(List.of(1L, 3L));
+        verify(rowIds, times(3)).all();
+    }
+
+}
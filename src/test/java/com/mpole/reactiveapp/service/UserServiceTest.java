@@ -1,22 +1,41 @@
 package com.mpole.reactiveapp.service;
 
-import com.mpole.reactiveapp.kafka.KafkaProducerService;
+import com.mpole.reactiveapp.cache.UserCacheExpiry;
+import com.mpole.reactiveapp.cache.UserNearCache;
+import com.mpole.reactiveapp.config.ResilienceProperties;
+import com.mpole.reactiveapp.config.UserCacheProperties;
 import com.mpole.reactiveapp.model.User;
+import com.mpole.reactiveapp.model.UserEventType;
+import com.mpole.reactiveapp.outbox.UserOutbox;
 import com.mpole.reactiveapp.repository.UserRepository;
+import com.mpole.reactiveapp.resilience.DependencyGuards;
+import com.mpole.reactiveapp.writebehind.UserWriteBehindBuffer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.core.ReactiveValueOperations;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
@@ -24,6 +43,9 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 public class UserServiceTest {
 
+    // 지터 없이 고정된 Redis TTL
+    private static final Duration TTL = Duration.ofHours(1);
+
     @Mock
     private UserRepository userRepository;
 
@@ -34,14 +56,61 @@ public class UserServiceTest {
     private ReactiveValueOperations<String, User> valueOperations;
 
     @Mock
-    private KafkaProducerService kafkaProducerService;
+    private ReactiveRedisTemplate<String, User> replicaRedisTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, User> replicaValueOperations;
+
+    @Mock
+    private ReactiveStringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, String> stringValueOperations;
+
+    @Mock
+    private UserOutbox userOutbox;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @Mock
+    private UserNearCache nearCache;
+
+    @Mock
+    private UserWriteBehindBuffer writeBehind;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private UserCacheExpiry cacheExpiry = new UserCacheExpiry(fixedTtlProperties());
 
-    @InjectMocks
     private UserService userService;
 
+    private static UserCacheProperties fixedTtlProperties() {
+        UserCacheProperties properties = new UserCacheProperties();
+        properties.getRedis().setTtl(TTL);
+        properties.getRedis().setTtlJitter(Duration.ZERO);
+        properties.getRedis().setEarlyRefreshBeta(0); // 조기 갱신은 개별 테스트에서 켬
+        return properties;
+    }
+
     @BeforeEach
     void setUp() {
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        // Redis 템플릿 여러 개가 같은 타입이라 @InjectMocks 대신 직접 생성
+        userService = new UserService(userRepository, redisTemplate, replicaRedisTemplate, stringRedisTemplate, userOutbox,
+                transactionalOperator, nearCache, writeBehind, cacheExpiry,
+                new DependencyGuards(new ResilienceProperties(), meterRegistry), meterRegistry);
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        // getUserById의 캐시 조회만 replica 템플릿을 사용
+        lenient().when(replicaRedisTemplate.opsForValue()).thenReturn(replicaValueOperations);
+        // 이메일 → ID 매핑 저장/삭제는 성공으로 처리
+        lenient().when(stringRedisTemplate.opsForValue()).thenReturn(stringValueOperations);
+        lenient().when(stringValueOperations.set(anyString(), anyString(), any(Duration.class))).thenReturn(Mono.just(true));
+        lenient().when(stringValueOperations.delete(anyString())).thenReturn(Mono.just(true));
+        // 트랜잭션은 전달받은 Mono를 그대로 실행하도록 처리
+        lenient().when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(writeBehind.discard(anyLong())).thenReturn(Mono.empty());
     }
 
     /**
@@ -58,11 +127,10 @@ public class UserServiceTest {
         user.setEmail("john@example.com");
 
         when(userRepository.save(user)).thenReturn(Mono.just(user));
-        when(valueOperations.set("user:1", user)).thenReturn(Mono.just(true));
+        when(valueOperations.set("user:1", user, TTL)).thenReturn(Mono.just(true));
 
-        // Kafka 메시지 전송을 Mock 처리
-        when(kafkaProducerService.sendMessage(anyString()))
-                .thenReturn(Mono.empty());
+        // 아웃박스 기록을 Mock 처리
+        when(userOutbox.append(UserEventType.CREATED, user)).thenReturn(Mono.empty());
 
         // When: 사용자 생성 메서드를 호출
         Mono<User> createdUserMono = userService.createUser(user);
@@ -77,10 +145,11 @@ public class UserServiceTest {
 
         // 데이터베이스에 사용자 정보가 저장되었는지 확인
         verify(userRepository).save(user);
-        // Redis에 사용자 정보가 캐시되었는지 확인
-        verify(valueOperations).set("user:1", user);
-        // Kafka 메시지 전송 검증
-        verify(kafkaProducerService).sendMessage(anyString());
+        // Redis에 사용자 정보와 이메일 → ID 매핑이 캐시되었는지 확인
+        verify(valueOperations).set("user:1", user, TTL);
+        verify(stringValueOperations).set("email:john@example.com", "1", TTL);
+        // 생성 이벤트가 아웃박스에 기록되었는지 확인
+        verify(userOutbox).append(UserEventType.CREATED, user);
 
     }
 
@@ -97,9 +166,9 @@ public class UserServiceTest {
         user.setName("John");
         user.setEmail("john@example.com");
 
-        when(valueOperations.get("user:1")).thenReturn(Mono.empty()); // Redis에서 사용자 없음
+        when(replicaValueOperations.get("user:1")).thenReturn(Mono.empty()); // Redis에서 사용자 없음
         when(userRepository.findById(1L)).thenReturn(Mono.just(user));
-        when(valueOperations.set("user:1", user)).thenReturn(Mono.just(true)); // Redis에 저장 예정
+        when(valueOperations.set("user:1", user, TTL)).thenReturn(Mono.just(true)); // Redis에 저장 예정
 
         // When: 사용자 ID로 조회
         Mono<User> retrievedUserMono = userService.getUserById(1L);
@@ -115,7 +184,7 @@ public class UserServiceTest {
         // 데이터베이스에서 사용자 정보가 조회되었는지 확인
         verify(userRepository).findById(1L);
         // Redis에 사용자 정보가 캐시되었는지 확인
-        verify(valueOperations).set("user:1", user);
+        verify(valueOperations).set("user:1", user, TTL);
 
     }
 
@@ -132,15 +201,18 @@ public class UserServiceTest {
         updatedUser.setName("Updated John");
         updatedUser.setEmail("updated@example.com");
 
+        // 수정 전 사용자는 Redis에 캐시되어 있음
+        when(valueOperations.get("user:1")).thenReturn(Mono.just(new User(1L, "John", "john@example.com", 0L)));
+        when(userRepository.findVersionForUpdate(1L)).thenReturn(Mono.just(0L));
         when(userRepository.save(any(User.class))).thenReturn(Mono.just(updatedUser));
-        when(valueOperations.set(eq("user:1"), any(User.class))).thenReturn(Mono.just(true));
+        when(valueOperations.set(eq("user:1"), any(User.class), eq(TTL))).thenReturn(Mono.just(true));
+        when(nearCache.invalidate(1L)).thenReturn(Mono.empty());
 
         // When: 사용자 업데이트 메서드 호출
         Mono<User> updatedUserMono = userService.updateUser(1L, updatedUser);
 
-        // Kafka 메시지 전송을 Mock 처리
-        when(kafkaProducerService.sendMessage(anyString()))
-                .thenReturn(Mono.empty());
+        // 아웃박스 기록을 Mock 처리
+        when(userOutbox.append(eq(UserEventType.UPDATED), any(User.class))).thenReturn(Mono.empty());
 
         // Then: 반환된 값 검증
         StepVerifier.create(updatedUserMono)
@@ -154,15 +226,95 @@ public class UserServiceTest {
         // 데이터베이스에서 사용자 정보가 업데이트되었는지 확인
         verify(userRepository).save(any(User.class));
         // Redis에 사용자 정보가 업데이트 되었는지 확인
-        verify(valueOperations).set(eq("user:1"), any(User.class));
-        // Kafka 메시지 전송 검증
-        verify(kafkaProducerService).sendMessage(anyString());
+        verify(valueOperations).set(eq("user:1"), any(User.class), eq(TTL));
+        // 수정 이벤트가 아웃박스에 기록되었는지 확인
+        verify(userOutbox).append(eq(UserEventType.UPDATED), any(User.class));
+        // 바뀐 이메일로 매핑이 옮겨졌는지 확인
+        verify(stringValueOperations).delete("email:john@example.com");
+        verify(stringValueOperations).set("email:updated@example.com", "1", TTL);
+
+    }
+
+    /**
+     * write-behind 모드에서 수정 내용이 DB 대신 버퍼와 Redis에 반영되는지 검증합니다.
+     * 시나리오: write-behind가 켜진 상태에서 L1 캐시에 있는 사용자를 수정합니다.
+     * 기대 결과: 수정 내용이 버퍼에 등록되고 Redis에 저장되며, DB 저장과 아웃박스 기록은 수행되지 않습니다.
+     */
+    @Test
+    void updateUser_ShouldBufferWrite_WhenWriteBehindEnabled() {
+        // Given
+        User existingUser = new User(1L, "John", "john@example.com", 3L);
+        User changedUser = new User(null, "Johnny", "johnny@example.com");
+
+        when(writeBehind.isEnabled()).thenReturn(true);
+        when(nearCache.getIfPresent(1L)).thenReturn(existingUser);
+        when(writeBehind.submit(changedUser)).thenReturn(Mono.just(true));
+        when(valueOperations.set("user:1", changedUser, TTL)).thenReturn(Mono.just(true));
+        when(nearCache.invalidate(1L)).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(userService.updateUser(1L, changedUser))
+                .expectNext(changedUser)
+                .verifyComplete();
 
+        verify(writeBehind).submit(changedUser);
+        verify(valueOperations).set("user:1", changedUser, TTL);
+        verify(userRepository, never()).save(any(User.class));
+        verifyNoInteractions(userOutbox);
+        // DB 반영 전이라도 다음 버전으로 응답/캐시
+        assertEquals(4L, changedUser.getVersion());
+    }
+
+    /**
+     * 캐시의 버전이 뒤처져 있어도 조건 없는 수정은 primary에서 잠그고 읽은 현재 버전으로 저장되는지 검증합니다.
+     * 시나리오: L1 캐시의 사용자는 버전 2(replica 지연 등), primary의 현재 버전은 5입니다.
+     * 기대 결과: 충돌 없이 버전 5를 조건으로 저장합니다.
+     */
+    @Test
+    void updateUser_ShouldUseLockedPrimaryVersion_WhenCacheIsStale() {
+        // Given
+        User changedUser = new User(null, "Johnny", "john@example.com");
+        when(nearCache.getIfPresent(1L)).thenReturn(new User(1L, "John", "john@example.com", 2L));
+        when(userRepository.findVersionForUpdate(1L)).thenReturn(Mono.just(5L));
+        when(userRepository.save(changedUser)).thenReturn(Mono.just(new User(1L, "Johnny", "john@example.com", 6L)));
+        when(userOutbox.append(eq(UserEventType.UPDATED), any(User.class))).thenReturn(Mono.empty());
+        when(valueOperations.set(eq("user:1"), any(User.class), eq(TTL))).thenReturn(Mono.just(true));
+        when(nearCache.invalidate(1L)).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(userService.updateUser(1L, changedUser))
+                .expectNextMatches(user -> user.getVersion() == 6L)
+                .verifyComplete();
+
+        ArgumentCaptor<User> saved = ArgumentCaptor.forClass(User.class);
+        verify(userRepository).save(saved.capture());
+        assertEquals(5L, saved.getValue().getVersion());
+    }
+
+    /**
+     * 클라이언트가 보낸 기대 버전(If-Match)이 현재 버전과 다르면 저장하지 않고 실패하며 L1 캐시를 무효화하는지 검증합니다.
+     */
+    @Test
+    void updateUser_ShouldFailAndInvalidateNearCache_WhenExpectedVersionIsStale() {
+        // Given
+        User changedUser = new User(null, "Johnny", "john@example.com");
+        when(nearCache.getIfPresent(1L)).thenReturn(new User(1L, "John", "john@example.com", 2L));
+        when(userRepository.findVersionForUpdate(1L)).thenReturn(Mono.just(3L));
+        when(nearCache.invalidate(1L)).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(userService.updateUser(1L, changedUser, 2L))
+                .expectError(OptimisticLockingFailureException.class)
+                .verify();
+
+        verify(userRepository, never()).save(any(User.class));
+        verify(nearCache).invalidate(1L);
+        verifyNoInteractions(userOutbox);
     }
 
     /**
      * 사용자를 삭제하는 기능을 검증합니다.
-     * 시나리오: 특정 ID를 가진 사용자를 삭제하고, 데이터베이스 및 Redis에서 제거하고, kafka 메시지를  보냅니다..
+     * 시나리오: 특정 ID를 가진 사용자를 삭제하고, 데이터베이스 및 Redis에서 제거하고, 아웃박스에 삭제 이벤트를 기록합니다.
      * 기대 결과: 데이터베이스와 Redis에서 사용자 정보가 삭제됩니다.
      */
     @Test
@@ -170,11 +322,11 @@ public class UserServiceTest {
         // Given
         when(userRepository.findById(1L)).thenReturn(Mono.just(new User(1L, "John Doe", "john@example.com")));
         when(valueOperations.delete("user:1")).thenReturn(Mono.just(true));
+        when(nearCache.invalidate(1L)).thenReturn(Mono.empty());
         when(userRepository.deleteById(1L)).thenReturn(Mono.empty());
 
-        // Kafka 메시지 전송을 Mock 처리
-        when(kafkaProducerService.sendMessage(anyString()))
-                .thenReturn(Mono.empty());
+        // 아웃박스 기록을 Mock 처리
+        when(userOutbox.append(eq(UserEventType.DELETED), any(User.class))).thenReturn(Mono.empty());
 
         // When: 사용자 삭제 메서드 호출
         Mono<Void> deleteMono = userService.deleteUser(1L);
@@ -183,15 +335,270 @@ public class UserServiceTest {
         StepVerifier.create(deleteMono)
                 .verifyComplete();
 
-        // Redis에서 삭제되었는지 확인
+        // Redis에서 사용자 정보와 이메일 → ID 매핑이 삭제되었는지 확인
         verify(valueOperations).delete("user:1");
+        verify(stringValueOperations).delete("email:john@example.com");
         // 데이터베이스에서 삭제되었는지 확인
         verify(userRepository).deleteById(1L);
-        // Kafka 메시지 전송 검증
-        verify(kafkaProducerService).sendMessage(anyString());
+        // 삭제 이벤트가 아웃박스에 기록되었는지 확인
+        verify(userOutbox).append(eq(UserEventType.DELETED), any(User.class));
+        // write-behind 대기 중인 수정 내용은 삭제 트랜잭션 전과 후에 모두 버려졌는지 확인
+        InOrder inOrder = inOrder(writeBehind, userRepository);
+        inOrder.verify(writeBehind).discard(1L);
+        inOrder.verify(userRepository).deleteById(1L);
+        inOrder.verify(writeBehind).discard(1L);
+
+    }
+
+    /**
+     * 이메일 → ID 매핑이 Redis에 있을 때 ID 조회 경로로 사용자를 찾는지 검증합니다.
+     * 시나리오: "email:john@example.com" 매핑이 1을 가리키고, 사용자 1은 L1 캐시에 있습니다. 대문자가 섞인 이메일로 조회합니다.
+     * 기대 결과: L1 캐시의 사용자가 반환되고, DB 이메일 조회는 수행되지 않습니다.
+     */
+    @Test
+    void getUserByEmail_ShouldResolveIdFromRedisMapping() {
+        // Given
+        User user = new User(1L, "John", "john@example.com");
+        when(stringValueOperations.get("email:john@example.com")).thenReturn(Mono.just("1"));
+        when(nearCache.getIfPresent(1L)).thenReturn(user);
+
+        // When & Then
+        StepVerifier.create(userService.getUserByEmail("John@Example.com"))
+                .expectNext(user)
+                .verifyComplete();
+
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    /**
+     * 이메일 → ID 매핑이 낡았을 때(사용자의 이메일이 바뀜) 매핑을 지우고 DB에서 다시 찾는지 검증합니다.
+     * 시나리오: 매핑은 사용자 1을 가리키지만 사용자 1의 이메일은 이미 다른 값으로 바뀌었고, DB에도 해당 이메일 사용자가 없습니다.
+     * 기대 결과: 빈 결과가 반환되고, 낡은 매핑이 삭제됩니다.
+     */
+    @Test
+    void getUserByEmail_ShouldDropStaleMapping() {
+        // Given
+        when(stringValueOperations.get("email:john@example.com")).thenReturn(Mono.just("1"));
+        when(nearCache.getIfPresent(1L)).thenReturn(new User(1L, "John", "johnny@example.com"));
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(userService.getUserByEmail("john@example.com"))
+                .verifyComplete();
+
+        verify(stringValueOperations).delete("email:john@example.com");
+    }
+
+    /**
+     * 이메일 → ID 매핑이 없을 때 DB에서 조회하고 사용자와 매핑을 함께 캐시하는지 검증합니다.
+     * 시나리오: Redis에 매핑이 없고, DB에 해당 이메일의 사용자가 있습니다.
+     * 기대 결과: DB의 사용자가 반환되고, "user:2"와 "email:jane@example.com"이 TTL과 함께 저장됩니다.
+     */
+    @Test
+    void getUserByEmail_ShouldLoadFromDbAndCacheMapping_WhenNotInRedis() {
+        // Given
+        User user = new User(2L, "Jane", "jane@example.com");
+        when(stringValueOperations.get("email:jane@example.com")).thenReturn(Mono.empty());
+        when(userRepository.findByEmail("jane@example.com")).thenReturn(Mono.just(user));
+        when(valueOperations.set("user:2", user, TTL)).thenReturn(Mono.just(true));
+
+        // When & Then
+        StepVerifier.create(userService.getUserByEmail("jane@example.com"))
+                .expectNext(user)
+                .verifyComplete();
 
+        verify(valueOperations).set("user:2", user, TTL);
+        verify(stringValueOperations).set("email:jane@example.com", "2", TTL);
+        verify(nearCache).put(user);
     }
 
+    /**
+     * L1 캐시에 사용자가 있을 때 Redis와 데이터베이스를 거치지 않는지 검증합니다.
+     * 시나리오: L1 캐시에 사용자 정보가 있는 상태에서 조회합니다.
+     * 기대 결과: L1 캐시의 사용자 정보가 반환되고, Redis와 데이터베이스는 호출되지 않습니다.
+     */
+    @Test
+    void getUserById_ShouldReturnFromNearCache_WithoutRedisOrDB() {
+        // Given: L1 캐시에 사용자 정보가 있음
+        User user = new User(1L, "John", "john@example.com");
+        when(nearCache.getIfPresent(1L)).thenReturn(user);
 
+        // When: 사용자 ID로 조회
+        Mono<User> retrievedUserMono = userService.getUserById(1L);
+
+        // Then: L1 캐시의 값이 반환되는지 검증
+        StepVerifier.create(retrievedUserMono)
+                .expectNext(user)
+                .verifyComplete();
+
+        // Redis와 데이터베이스는 조회되지 않아야 함
+        verifyNoInteractions(valueOperations);
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    /**
+     * 같은 ID에 대한 동시 캐시 미스가 하나의 DB 조회와 Redis 저장으로 합쳐지는지 검증합니다.
+     * 시나리오: Redis에 사용자가 없는 상태에서, DB 조회가 끝나기 전에 두 요청이 동시에 들어옵니다.
+     * 기대 결과: DB 조회와 Redis 저장은 각각 한 번만 수행되고, 합쳐진 요청 수가 메트릭에 기록됩니다.
+     */
+    @Test
+    void getUserById_ShouldCoalesceConcurrentMisses() {
+        // Given: DB 조회가 지연되도록 Sinks로 제어
+        User user = new User(1L, "John", "john@example.com");
+        Sinks.One<User> dbResult = Sinks.one();
+
+        when(replicaValueOperations.get("user:1")).thenReturn(Mono.empty());
+        when(userRepository.findById(1L)).thenReturn(dbResult.asMono());
+        when(valueOperations.set("user:1", user, TTL)).thenReturn(Mono.just(true));
+
+        // When: 두 요청이 동시에 조회
+        Mono<List<User>> both = Mono.zip(userService.getUserById(1L), userService.getUserById(1L))
+                .map(tuple -> List.of(tuple.getT1(), tuple.getT2()));
+
+        // Then: DB 조회가 끝나면 두 요청 모두 같은 결과를 받음
+        StepVerifier.create(both)
+                .then(() -> dbResult.tryEmitValue(user))
+                .expectNext(List.of(user, user))
+                .verifyComplete();
+
+        verify(userRepository, times(1)).findById(1L);
+        verify(valueOperations, times(1)).set("user:1", user, TTL);
+        assertEquals(1.0, meterRegistry.get("singleflight.requests")
+                .tag("name", "user.load").tag("result", "coalesced").counter().count());
+    }
+
+    /**
+     * 조회가 응답된 계층과 의존성별 호출 시간이 메트릭으로 기록되는지 검증합니다.
+     * 시나리오: Redis에 있는 사용자 1과 DB에만 있는 사용자 2를 차례로 조회합니다.
+     * 기대 결과: user.lookups의 redis/db가 각각 1이 되고, Redis get과 DB findById 호출 시간이 기록됩니다.
+     */
+    @Test
+    void getUserById_ShouldRecordLookupLayer_AndDependencyTimers() {
+        // Given
+        User cachedUser = new User(1L, "John", "john@example.com");
+        User storedUser = new User(2L, "Jane", "jane@example.com");
+
+        when(replicaValueOperations.get("user:1")).thenReturn(Mono.just(cachedUser));
+        when(replicaValueOperations.get("user:2")).thenReturn(Mono.empty());
+        when(userRepository.findById(2L)).thenReturn(Mono.just(storedUser));
+        when(valueOperations.set("user:2", storedUser, TTL)).thenReturn(Mono.just(true));
+
+        // When
+        StepVerifier.create(userService.getUserById(1L)).expectNext(cachedUser).verifyComplete();
+        StepVerifier.create(userService.getUserById(2L)).expectNext(storedUser).verifyComplete();
+
+        // Then
+        assertEquals(1.0, meterRegistry.get("user.lookups").tag("result", "redis").counter().count());
+        assertEquals(1.0, meterRegistry.get("user.lookups").tag("result", "db").counter().count());
+        assertEquals(2L, meterRegistry.get("user.dependency")
+                .tag("dependency", "redis").tag("operation", "get").tag("outcome", "success").timer().count());
+        assertEquals(1L, meterRegistry.get("user.dependency")
+                .tag("dependency", "db").tag("operation", "findById").timer().count());
+    }
+
+    /**
+     * Redis 조회가 실패하면 요청을 실패시키지 않고 DB에서 조회하는지 검증합니다.
+     * 시나리오: Redis get과 set이 모두 연결 오류로 실패하고, DB에는 사용자가 있습니다.
+     * 기대 결과: DB의 사용자가 반환되고, 캐시를 건너뛴 조회/저장이 user.cache.fallbacks에 기록됩니다.
+     */
+    @Test
+    void getUserById_ShouldFallBackToDB_WhenRedisFails() {
+        // Given
+        User user = new User(1L, "John", "john@example.com");
+        when(replicaValueOperations.get("user:1")).thenReturn(Mono.error(new IllegalStateException("redis down")));
+        when(userRepository.findById(1L)).thenReturn(Mono.just(user));
+        when(valueOperations.set("user:1", user, TTL)).thenReturn(Mono.error(new IllegalStateException("redis down")));
+
+        // When & Then
+        StepVerifier.create(userService.getUserById(1L))
+                .expectNext(user)
+                .verifyComplete();
+
+        assertEquals(1.0, meterRegistry.get("user.cache.fallbacks").tag("operation", "read").counter().count());
+        assertEquals(1.0, meterRegistry.get("user.cache.fallbacks").tag("operation", "write").counter().count());
+    }
+
+    /**
+     * 만료가 가까운 Redis 키를 기존 값으로 응답하면서 DB에서 미리 갱신하는지 검증합니다. (XFetch)
+     * 시나리오: Redis에 남은 TTL이 1초인 사용자가 있고, 조기 갱신 판단이 true를 반환합니다.
+     * 기대 결과: 요청은 Redis의 기존 값을 받고, DB에서 읽은 최신 값이 새 TTL로 Redis에 저장됩니다.
+     */
+    @Test
+    void getUserById_ShouldRefreshEarly_WhenKeyIsAboutToExpire() {
+        // Given
+        User staleUser = new User(1L, "John", "john@example.com");
+        User freshUser = new User(1L, "Johnny", "johnny@example.com");
+
+        doReturn(true).when(cacheExpiry).isEarlyRefreshEnabled();
+        doReturn(true).when(cacheExpiry).shouldRefreshEarly(Duration.ofSeconds(1));
+        when(replicaValueOperations.get("user:1")).thenReturn(Mono.just(staleUser));
+        when(replicaRedisTemplate.getExpire("user:1")).thenReturn(Mono.just(Duration.ofSeconds(1)));
+        when(userRepository.findById(1L)).thenReturn(Mono.just(freshUser));
+        when(valueOperations.set("user:1", freshUser, TTL)).thenReturn(Mono.just(true));
+
+        // When & Then
+        StepVerifier.create(userService.getUserById(1L))
+                .expectNext(staleUser)
+                .verifyComplete();
+
+        verify(valueOperations).set("user:1", freshUser, TTL);
+        assertEquals(1.0, meterRegistry.get("user.cache.early_refresh").counter().count());
+    }
+
+    /**
+     * 여러 사용자를 일괄 조회할 때 Redis MGET과 DB IN 쿼리가 각각 한 번씩만 수행되는지 검증합니다.
+     * 시나리오: ID 1은 Redis에 있고, ID 2는 DB에만 있으며, ID 3은 어디에도 없습니다.
+     * 기대 결과: 요청 순서대로 존재하는 사용자만 반환되고, DB에서 읽은 사용자만 TTL과 함께 Redis에 다시 캐시됩니다.
+     */
+    @Test
+    void getUsersByIds_ShouldUseSingleMultiGet_AndQueryOnlyMisses() {
+        // Given
+        User cachedUser = new User(1L, "John", "john@example.com");
+        User dbUser = new User(2L, "Jane", "jane@example.com");
+
+        when(valueOperations.multiGet(List.of("user:1", "user:2", "user:3")))
+                .thenReturn(Mono.just(Arrays.asList(cachedUser, null, null)));
+        when(userRepository.findByIdIn(List.of(2L, 3L))).thenReturn(Flux.just(dbUser));
+        when(valueOperations.set("user:2", dbUser, TTL)).thenReturn(Mono.just(true));
+
+        // When
+        Flux<User> users = userService.getUsersByIds(List.of(1L, 2L, 3L, 1L));
+
+        // Then
+        StepVerifier.create(users)
+                .expectNext(cachedUser, dbUser)
+                .verifyComplete();
+
+        verify(valueOperations, times(1)).multiGet(anyCollection());
+        verify(userRepository, times(1)).findByIdIn(List.of(2L, 3L));
+        verify(valueOperations, times(1)).set("user:2", dbUser, TTL);
+        verify(valueOperations, never()).multiSet(anyMap());
+    }
+
+    /**
+     * 전체 사용자 조회가 id 커서 기반의 청크 쿼리로 나누어 수행되는지 검증합니다.
+     * 시나리오: 첫 청크는 가득 차(500명) 있고, 두 번째 청크는 1명만 있습니다.
+     * 기대 결과: 두 번의 키셋 쿼리로 501명이 순서대로 반환되고, 세 번째 쿼리는 수행되지 않습니다.
+     */
+    @Test
+    void getAllUsers_ShouldStreamInKeysetChunks() {
+        // Given
+        List<User> firstChunk = LongStream.rangeClosed(1, 500)
+                .mapToObj(id -> new User(id, "user" + id, "user" + id + "@example.com"))
+                .toList();
+        User last = new User(501L, "user501", "user501@example.com");
+
+        when(userRepository.findPageAfter(0L, 500)).thenReturn(Flux.fromIterable(firstChunk));
+        when(userRepository.findPageAfter(500L, 500)).thenReturn(Flux.just(last));
+
+        // When & Then
+        StepVerifier.create(userService.getAllUsers())
+                .expectNextCount(500)
+                .expectNext(last)
+                .verifyComplete();
+
+        verify(userRepository, times(2)).findPageAfter(anyLong(), eq(500));
+        verify(userRepository, never()).findAll();
+    }
 
 }
@@ -0,0 +1,70 @@
+package com.mpole.reactiveapp.startup;
+
+import com.mpole.reactiveapp.cache.UserCacheWarmer;
+import com.mpole.reactiveapp.db.DatabaseInitializer;
+import com.mpole.reactiveapp.kafka.KafkaProducerService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.data.redis.core.ReactiveRedisCallback;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StartupCoordinatorTest {
+
+    @Mock
+    private DatabaseInitializer databaseInitializer;
+
+    @Mock
+    private ReactiveStringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private KafkaProducerService kafkaProducerService;
+
+    @Mock
+    private UserCacheWarmer cacheWarmer;
+
+    /**
+     * 기동 준비 작업이 모두 끝날 때까지 readiness를 막고, 끝난 뒤에 캐시 예열을 시작하는지 검증합니다.
+     * 시나리오: Redis/Kafka 준비는 바로 끝나고 스키마 적용만 늦게 끝납니다.
+     * 기대 결과: 스키마 적용 전에는 OUT_OF_SERVICE(schema=PENDING)이고 예열도 시작하지 않으며,
+     *          스키마 적용 후에는 UP이 되고 예열이 한 번 시작됩니다.
+     */
+    @Test
+    void run_ShouldHoldReadiness_UntilAllStepsComplete() {
+        // Given
+        Sinks.Empty<Void> schema = Sinks.empty();
+        when(databaseInitializer.initialize()).thenReturn(schema.asMono());
+        doReturn(Flux.just("PONG")).when(stringRedisTemplate).execute(any(ReactiveRedisCallback.class));
+        when(kafkaProducerService.warmUp()).thenReturn(Mono.empty());
+        StartupCoordinator coordinator = new StartupCoordinator(databaseInitializer, stringRedisTemplate,
+                kafkaProducerService, cacheWarmer, new SimpleMeterRegistry());
+
+        // When
+        coordinator.run(null);
+
+        // Then: 스키마 적용 대기 중
+        Health pending = coordinator.health();
+        assertEquals(Status.OUT_OF_SERVICE, pending.getStatus());
+        assertEquals("PENDING", pending.getDetails().get("schema"));
+        assertTrue(pending.getDetails().get("redis").toString().startsWith("UP"));
+        verify(cacheWarmer, never()).start();
+
+        // Then: 스키마 적용 완료
+        schema.tryEmitEmpty();
+        assertEquals(Status.UP, coordinator.health().getStatus());
+        verify(cacheWarmer, times(1)).start();
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.mpole.reactiveapp.stream;
+
+import com.mpole.reactiveapp.config.UserStreamProperties;
+import com.mpole.reactiveapp.model.UserEvent;
+import com.mpole.reactiveapp.model.UserEventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class UserChangeStreamTest {
+
+    private static UserEvent updated(long userId) {
+        return new UserEvent(UserEventType.UPDATED, userId, "user" + userId, null, null);
+    }
+
+    /**
+     * 하나의 이벤트가 모든 구독자에게 전달되는지 검증합니다.
+     */
+    @Test
+    void publish_ShouldMulticastToAllSubscribers() {
+        // Given
+        UserChangeStream stream = new UserChangeStream(new UserStreamProperties(), new SimpleMeterRegistry());
+        List<UserEvent> first = new CopyOnWriteArrayList<>();
+        List<UserEvent> second = new CopyOnWriteArrayList<>();
+        Disposable firstSubscription = stream.subscribe().subscribe(first::add);
+        Disposable secondSubscription = stream.subscribe().subscribe(second::add);
+
+        // When
+        stream.publish(updated(1L));
+        stream.publish(updated(2L));
+
+        // Then
+        assertEquals(List.of(1L, 2L), first.stream().map(UserEvent::getUserId).toList());
+        assertEquals(List.of(1L, 2L), second.stream().map(UserEvent::getUserId).toList());
+        firstSubscription.dispose();
+        secondSubscription.dispose();
+    }
+
+    /**
+     * 느린 구독자는 버퍼가 가득 차면 가장 오래된 이벤트를 잃고, 다른 구독자는 영향을 받지 않는지 검증합니다.
+     * 시나리오: 버퍼 크기가 2이고, 한 구독자는 요청(request)하지 않은 채 이벤트 5개가 들어옵니다.
+     * 기대 결과: 느린 구독자는 마지막 2개(4, 5)만 받고, 빠른 구독자는 5개 모두 받으며, 버린 3개가 집계됩니다.
+     */
+    @Test
+    void subscribe_ShouldDropOldest_ForSlowSubscriberOnly() {
+        // Given
+        UserStreamProperties properties = new UserStreamProperties();
+        properties.setBufferSize(2);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        UserChangeStream stream = new UserChangeStream(properties, meterRegistry);
+        List<UserEvent> fast = new CopyOnWriteArrayList<>();
+        Disposable fastSubscription = stream.subscribe().subscribe(fast::add);
+
+        // When & Then
+        StepVerifier.create(stream.subscribe(), 0)
+                .then(() -> LongStream.rangeClosed(1, 5).forEach(id -> stream.publish(updated(id))))
+                .thenRequest(2)
+                .expectNextMatches(event -> event.getUserId() == 4L)
+                .expectNextMatches(event -> event.getUserId() == 5L)
+                .thenCancel()
+                .verify();
+
+        assertEquals(5, fast.size());
+        assertEquals(3.0, meterRegistry.get("user.stream.dropped").counter().count());
+        assertEquals(5.0, meterRegistry.get("user.stream.published").counter().count());
+        fastSubscription.dispose();
+    }
+
+}
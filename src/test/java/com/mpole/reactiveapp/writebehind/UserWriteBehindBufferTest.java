@@ -0,0 +1,242 @@
+package com.mpole.reactiveapp.writebehind;
+
+import com.mpole.reactiveapp.config.ResilienceProperties;
+import com.mpole.reactiveapp.config.WriteBehindProperties;
+import com.mpole.reactiveapp.model.User;
+import com.mpole.reactiveapp.model.UserEventType;
+import com.mpole.reactiveapp.outbox.UserOutbox;
+import com.mpole.reactiveapp.resilience.DependencyGuards;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.data.redis.core.ReactiveSetOperations;
+import org.springframework.r2dbc.core.FetchSpec;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserWriteBehindBufferTest {
+
+    @Mock
+    private DatabaseClient databaseClient;
+
+    @Mock(answer = Answers.RETURNS_SELF)
+    private DatabaseClient.GenericExecuteSpec executeSpec;
+
+    @Mock
+    private FetchSpec<Map<String, Object>> fetchSpec;
+
+    @Mock(answer = Answers.RETURNS_SELF)
+    private DatabaseClient.GenericExecuteSpec lockSpec;
+
+    @Mock
+    private RowsFetchSpec<Long> lockedIds;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @Mock
+    private UserOutbox userOutbox;
+
+    @Mock
+    private ReactiveRedisTemplate<String, User> redisTemplate;
+
+    @Mock
+    private ReactiveStringRedisTemplate stringRedisTemplate;
+
+    private WriteBehindProperties properties;
+
+    private UserWriteBehindBuffer writeBehindBuffer;
+
+    @BeforeEach
+    void setUp() {
+        properties = new WriteBehindProperties();
+        properties.setEnabled(true);
+        properties.setDurability(WriteBehindProperties.Durability.MEMORY);
+        writeBehindBuffer = new UserWriteBehindBuffer(databaseClient, transactionalOperator, userOutbox,
+                redisTemplate, stringRedisTemplate, properties,
+                new DependencyGuards(new ResilienceProperties(), new SimpleMeterRegistry()), new SimpleMeterRegistry());
+    }
+
+    /**
+     * 같은 사용자의 연속 수정이 하나로 합쳐져, 다중 행 UPDATE 한 번으로 최신 값만 반영되는지 검증합니다.
+     * 시나리오: 사용자 1을 두 번, 사용자 2를 한 번 수정한 뒤 반영합니다.
+     * 기대 결과: UPDATE 문은 한 번 실행되고, 사용자 1은 마지막 값으로 반영되며, 사용자별 UPDATED 이벤트가 기록됩니다.
+     */
+    @Test
+    void flushAll_ShouldCoalescePerId_AndIssueSingleBatchedUpdate() {
+        // Given
+        givenExistingIds(1L, 2L);
+        when(databaseClient.sql(startsWith("UPDATE"))).thenReturn(executeSpec);
+        when(executeSpec.fetch()).thenReturn(fetchSpec);
+        when(fetchSpec.rowsUpdated()).thenReturn(Mono.just(2L));
+        when(userOutbox.append(eq(UserEventType.UPDATED), any(User.class))).thenReturn(Mono.empty());
+
+        StepVerifier.create(writeBehindBuffer.submit(new User(1L, "A", "a@example.com"))).expectNext(true).verifyComplete();
+        StepVerifier.create(writeBehindBuffer.submit(new User(1L, "B", "b@example.com"))).expectNext(true).verifyComplete();
+        StepVerifier.create(writeBehindBuffer.submit(new User(2L, "C", "c@example.com"))).expectNext(true).verifyComplete();
+        assertEquals("B", writeBehindBuffer.getPending(1L).getName());
+
+        // When & Then
+        StepVerifier.create(writeBehindBuffer.flushAll())
+                .expectNext(2L)
+                .verifyComplete();
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(databaseClient, times(2)).sql(sql.capture());
+        assertTrue(sql.getAllValues().get(0).endsWith("FOR UPDATE"));
+        String update = sql.getAllValues().get(1);
+        assertTrue(update.startsWith("UPDATE users SET name = CASE id"));
+        assertTrue(update.contains("version = CASE id"));
+        verify(executeSpec).bind(anyString(), eq("B"));
+        verify(executeSpec, never()).bind(anyString(), eq("A"));
+        verify(userOutbox, times(2)).append(eq(UserEventType.UPDATED), any(User.class));
+        assertNull(writeBehindBuffer.getPending(1L));
+        assertNull(writeBehindBuffer.getPending(2L));
+    }
+
+    /**
+     * 반영 전에 삭제된 사용자는 UPDATE 대상과 UPDATED 이벤트에서 빠지는지 검증합니다.
+     * 시나리오: 사용자 1, 2를 수정했지만 DB에는 사용자 1만 남아 있습니다.
+     * 기대 결과: 사용자 1에 대해서만 UPDATE 값을 바인딩하고 이벤트를 기록합니다.
+     */
+    @Test
+    void flushAll_ShouldEmitEventsOnlyForRowsStillPresent() {
+        // Given
+        givenExistingIds(1L);
+        when(databaseClient.sql(startsWith("UPDATE"))).thenReturn(executeSpec);
+        when(executeSpec.fetch()).thenReturn(fetchSpec);
+        when(fetchSpec.rowsUpdated()).thenReturn(Mono.just(1L));
+        when(userOutbox.append(eq(UserEventType.UPDATED), any(User.class))).thenReturn(Mono.empty());
+
+        StepVerifier.create(writeBehindBuffer.submit(new User(1L, "A", "a@example.com"))).expectNext(true).verifyComplete();
+        StepVerifier.create(writeBehindBuffer.submit(new User(2L, "B", "b@example.com"))).expectNext(true).verifyComplete();
+
+        // When & Then
+        StepVerifier.create(writeBehindBuffer.flushAll())
+                .expectNext(2L)
+                .verifyComplete();
+
+        ArgumentCaptor<User> events = ArgumentCaptor.forClass(User.class);
+        verify(userOutbox).append(eq(UserEventType.UPDATED), events.capture());
+        assertEquals(1L, events.getValue().getId());
+        verify(executeSpec, never()).bind(anyString(), eq("B"));
+        assertNull(writeBehindBuffer.getPending(2L));
+    }
+
+    /**
+     * 반영할 사용자가 모두 삭제되었으면 UPDATE와 이벤트 기록 없이 끝나는지 검증합니다.
+     */
+    @Test
+    void flushAll_ShouldSkipUpdate_WhenAllRowsWereDeleted() {
+        // Given
+        givenExistingIds();
+
+        StepVerifier.create(writeBehindBuffer.submit(new User(1L, "A", "a@example.com"))).expectNext(true).verifyComplete();
+
+        // When & Then
+        StepVerifier.create(writeBehindBuffer.flushAll())
+                .expectNext(1L)
+                .verifyComplete();
+
+        verify(databaseClient, never()).sql(startsWith("UPDATE"));
+        verifyNoInteractions(userOutbox);
+    }
+
+    /**
+     * 배치에 이메일 중복 수정이 섞여 있으면 행 단위로 다시 반영하여 그 수정만 버리는지 검증합니다.
+     * 시나리오: 사용자 1, 2의 수정 중 사용자 2의 이메일이 다른 사용자와 겹쳐 배치 UPDATE가 중복 키 오류로 실패합니다.
+     * 기대 결과: 사용자 1은 반영되고 이벤트가 기록되며, 사용자 2의 수정은 버퍼로 돌아가지 않고 Redis 값이 삭제됩니다.
+     */
+    @Test
+    void flushAll_ShouldDropOnlyDuplicateEmailRows_AndFlushTheRest() {
+        // Given
+        givenExistingIds(1L, 2L);
+        DuplicateKeyException duplicate = new DuplicateKeyException("Duplicate entry 'taken@example.com' for key 'uk_users_email'");
+        when(databaseClient.sql(startsWith("UPDATE"))).thenReturn(executeSpec);
+        when(executeSpec.fetch()).thenReturn(fetchSpec);
+        when(fetchSpec.rowsUpdated()).thenReturn(Mono.error(duplicate), Mono.just(1L), Mono.error(duplicate));
+        when(userOutbox.append(eq(UserEventType.UPDATED), any(User.class))).thenReturn(Mono.empty());
+        when(redisTemplate.delete("user:2")).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(writeBehindBuffer.submit(new User(1L, "A", "a@example.com"))).expectNext(true).verifyComplete();
+        StepVerifier.create(writeBehindBuffer.submit(new User(2L, "B", "taken@example.com"))).expectNext(true).verifyComplete();
+
+        // When & Then
+        StepVerifier.create(writeBehindBuffer.flushAll())
+                .expectNext(2L)
+                .verifyComplete();
+
+        ArgumentCaptor<User> events = ArgumentCaptor.forClass(User.class);
+        verify(userOutbox).append(eq(UserEventType.UPDATED), events.capture());
+        assertEquals(1L, events.getValue().getId());
+        verify(redisTemplate).delete("user:2");
+        assertNull(writeBehindBuffer.getPending(1L));
+        assertNull(writeBehindBuffer.getPending(2L));
+    }
+
+    /**
+     * REDIS_JOURNAL 모드에서 대기 중인 ID가 인스턴스별 저널 키에 기록되는지 검증합니다.
+     */
+    @Test
+    void submit_ShouldJournalUnderInstanceKey() {
+        // Given
+        properties.setDurability(WriteBehindProperties.Durability.REDIS_JOURNAL);
+        properties.setInstanceId("app-0");
+        ReactiveSetOperations<String, String> setOperations = mock(ReactiveSetOperations.class);
+        when(stringRedisTemplate.opsForSet()).thenReturn(setOperations);
+        when(setOperations.add("user:dirty:app-0", "1")).thenReturn(Mono.just(1L));
+
+        // When & Then
+        StepVerifier.create(writeBehindBuffer.submit(new User(1L, "A", "a@example.com"))).expectNext(true).verifyComplete();
+
+        verify(setOperations).add("user:dirty:app-0", "1");
+    }
+
+    /**
+     * 버퍼가 가득 차면 새 사용자의 수정은 거절하되, 이미 대기 중인 사용자의 수정은 합쳐서 받는지 검증합니다.
+     */
+    @Test
+    void submit_ShouldRejectNewIds_WhenBufferIsFull() {
+        // Given
+        properties.setMaxPending(1);
+
+        // When & Then
+        StepVerifier.create(writeBehindBuffer.submit(new User(1L, "A", "a@example.com"))).expectNext(true).verifyComplete();
+        StepVerifier.create(writeBehindBuffer.submit(new User(2L, "B", "b@example.com"))).expectNext(false).verifyComplete();
+        StepVerifier.create(writeBehindBuffer.submit(new User(1L, "C", "c@example.com"))).expectNext(true).verifyComplete();
+
+        assertEquals("C", writeBehindBuffer.getPending(1L).getName());
+        assertNull(writeBehindBuffer.getPending(2L));
+        verifyNoInteractions(databaseClient, stringRedisTemplate);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenExistingIds(Long... ids) {
+        when(databaseClient.sql(startsWith("SELECT id FROM users"))).thenReturn(lockSpec);
+        when(lockSpec.map(any(Function.class))).thenReturn(lockedIds);
+        when(lockedIds.all()).thenReturn(Flux.just(ids));
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+}